@@ -0,0 +1,83 @@
+package com.womkarescode.microservicemeetup.benchmark;
+
+import com.womkarescode.microservicemeetup.mapper.CreateMeetupMapperImpl;
+import com.womkarescode.microservicemeetup.mapper.MeetupMapper;
+import com.womkarescode.microservicemeetup.mapper.MeetupMapperImpl;
+import com.womkarescode.microservicemeetup.mapper.RegistrationMapperImpl;
+import com.womkarescode.microservicemeetup.model.dto.MeetupDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"50"})
+    private int pageSize;
+
+    private List<Meetup> page;
+
+    private ModelMapper modelMapper;
+
+    private MeetupMapper meetupMapper;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        meetupMapper = new MeetupMapperImpl(new RegistrationMapperImpl(), new CreateMeetupMapperImpl());
+
+        CreateMeetup event = CreateMeetup.builder()
+                .id(1L)
+                .event("Palestra Microservice")
+                .eventDate(LocalDate.now())
+                .hostedBy("Thamyris")
+                .guestSpeaker("Anna Neri")
+                .linkMeetup("https://www.zoom.com/")
+                .build();
+
+        page = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            Registration registration = Registration.builder()
+                    .id(i)
+                    .name("Attendee " + i)
+                    .email("attendee" + i + "@gmail.com")
+                    .password("1234")
+                    .dateOfRegistration(LocalDate.now())
+                    .registration(String.valueOf(i))
+                    .build();
+            page.add(Meetup.builder()
+                    .id(i)
+                    .registration(registration)
+                    .eventDetails(event)
+                    .meetupDateRegistration(LocalDate.now())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<MeetupDTO> modelMapperPage() {
+        return page.stream()
+                .map(entity -> modelMapper.map(entity, MeetupDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<MeetupDTO> mapStructPage() {
+        return page.stream()
+                .map(meetupMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,101 @@
+package com.womkarescode.microservicemeetup.benchmark;
+
+import com.womkarescode.microservicemeetup.ServicoDeAgendamentoDoMeetupsApplication;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.service.MeetupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads large pages of meetups, with their registrations and events, once inside a read-only transaction and
+ * once inside a read-write one, which snapshots every entity and dirty-checks them all on commit.
+ * {@code ./gradlew jmh -PjmhIncludes=ReadOnlyTransactionBenchmark -PjmhProfilers=gc} also reports the allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    private static final int EVENTS = 10;
+
+    private static final int REGISTRATIONS = 200_000;
+
+    @Param({"1000", "10000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private MeetupService meetupService;
+
+    private TransactionTemplate readOnly;
+
+    private TransactionTemplate readWrite;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ServicoDeAgendamentoDoMeetupsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh-read-only;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN")
+                .run();
+
+        meetupService = context.getBean(MeetupService.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute(String.format(
+                "insert into create_meetup (event, event_date, hosted_by, guest_speaker, link_meetup) " +
+                "select 'Event ' || x, current_date, 'Host ' || x, 'Speaker ' || x, 'https://meetup.example/' || x " +
+                "from system_range(1, %d)", EVENTS));
+        jdbcTemplate.execute(String.format(
+                "insert into registration (registration_id, person_name, person_email, person_password, date_of_registration, registration) " +
+                "select x, 'Attendee ' || x, 'attendee' || x || '@mail.com', 'secret', current_date, 'R' || x " +
+                "from system_range(1, %d)", REGISTRATIONS));
+        jdbcTemplate.execute(String.format(
+                "insert into meetup (id, event, id_registration, meetup_date_registration, author_meetup, status) " +
+                "select x, 'Event ' || (mod(x, %1$d) + 1), x, current_date, mod(x, %1$d) + 1, 'CONFIRMED' " +
+                "from system_range(1, %2$d)", EVENTS, REGISTRATIONS));
+    }
+
+    @Benchmark
+    public List<Meetup> readOnlyTransaction() {
+        return readOnly.execute(status -> loadPage());
+    }
+
+    @Benchmark
+    public List<Meetup> readWriteTransaction() {
+        return readWrite.execute(status -> loadPage());
+    }
+
+    private List<Meetup> loadPage() {
+        MeetupFilterDTO filter = MeetupFilterDTO.builder()
+                .event("Event " + ThreadLocalRandom.current().nextInt(1, EVENTS + 1))
+                .build();
+        return meetupService.findAllAfter(filter, 0L, pageSize);
+    }
+}
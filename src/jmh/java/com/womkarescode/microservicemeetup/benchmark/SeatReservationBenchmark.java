@@ -0,0 +1,62 @@
+package com.womkarescode.microservicemeetup.benchmark;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.service.SeatReservation;
+import com.womkarescode.microservicemeetup.service.SeatReservationService;
+import com.womkarescode.microservicemeetup.service.impl.SeatReservationServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Many threads signing up for one hot event: the striped seat inventory against a single shared counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class SeatReservationBenchmark {
+
+    private SeatReservationService seatReservationService;
+
+    private CreateMeetup hotEvent;
+
+    private AtomicInteger singleCounter;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // No sign-ups are confirmed yet, so the inventory is seeded with the whole capacity.
+        MeetupRepository noConfirmedSignUps = (MeetupRepository) Proxy.newProxyInstance(
+                MeetupRepository.class.getClassLoader(),
+                new Class<?>[]{MeetupRepository.class},
+                (proxy, method, args) -> 0L);
+        seatReservationService = new SeatReservationServiceImpl(noConfirmedSignUps);
+        hotEvent = CreateMeetup.builder().id(1L).event("Hot event").capacity(Integer.MAX_VALUE).build();
+        singleCounter = new AtomicInteger(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public boolean stripedInventory() {
+        Optional<SeatReservation> seat = seatReservationService.tryReserve(hotEvent);
+        seat.ifPresent(SeatReservation::confirm);
+        return seat.isPresent();
+    }
+
+    @Benchmark
+    public boolean singleCounter() {
+        int free;
+        while ((free = singleCounter.get()) > 0) {
+            if (singleCounter.compareAndSet(free, free - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
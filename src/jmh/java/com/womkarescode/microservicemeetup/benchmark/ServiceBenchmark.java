@@ -0,0 +1,136 @@
+package com.womkarescode.microservicemeetup.benchmark;
+
+import com.womkarescode.microservicemeetup.ServicoDeAgendamentoDoMeetupsApplication;
+import com.womkarescode.microservicemeetup.mapper.MeetupMapper;
+import com.womkarescode.microservicemeetup.model.dto.MeetupDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.CreateMeetupService;
+import com.womkarescode.microservicemeetup.service.MeetupService;
+import com.womkarescode.microservicemeetup.service.RegistrationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Param({"10000"})
+    private int events;
+
+    @Param({"1000000"})
+    private int registrations;
+
+    private ConfigurableApplicationContext context;
+
+    private RegistrationService registrationService;
+
+    private CreateMeetupService createMeetupService;
+
+    private MeetupService meetupService;
+
+    private MeetupMapper meetupMapper;
+
+    private final AtomicLong newRegistrations = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ServicoDeAgendamentoDoMeetupsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN")
+                .run();
+
+        registrationService = context.getBean(RegistrationService.class);
+        createMeetupService = context.getBean(CreateMeetupService.class);
+        meetupService = context.getBean(MeetupService.class);
+        meetupMapper = context.getBean(MeetupMapper.class);
+
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Every registration signs up for one event, so each event ends up with registrations / events attendees.
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute(String.format(
+                "insert into create_meetup (event, event_date, hosted_by, guest_speaker, link_meetup) " +
+                "select 'Event ' || x, dateadd('DAY', mod(x, 365), current_date), 'Host ' || mod(x, 100), " +
+                "'Speaker ' || mod(x, 500), 'https://meetup.example/' || x from system_range(1, %d)", events));
+        jdbcTemplate.execute(String.format(
+                "insert into registration (registration_id, person_name, person_email, person_password, date_of_registration, registration) " +
+                "select x, 'Attendee ' || x, 'attendee' || x || '@mail.com', 'secret', current_date, 'R' || x " +
+                "from system_range(1, %d)", registrations));
+        // The pooled optimizer hands out the block ending at the sequence value, so skip a full block past the seed.
+        jdbcTemplate.execute(String.format("alter sequence registration_seq restart with %d", registrations + 51));
+        jdbcTemplate.execute(String.format(
+                "insert into meetup (id, event, id_registration, meetup_date_registration, author_meetup, status) " +
+                "select x, 'Event ' || (mod(x, %1$d) + 1), x, current_date, mod(x, %1$d) + 1, 'CONFIRMED' " +
+                "from system_range(1, %2$d)", events, registrations));
+        jdbcTemplate.execute(String.format("alter sequence meetup_seq restart with %d", registrations + 51));
+    }
+
+    @Benchmark
+    public Registration registrationSave() {
+        long next = newRegistrations.incrementAndGet();
+        return registrationService.save(Registration.builder()
+                .name("Bench " + next)
+                .email("bench" + next + "@mail.com")
+                .password("secret")
+                .registration("BENCH-" + next)
+                .build());
+    }
+
+    @Benchmark
+    public Page<CreateMeetup> createMeetupFindAllByExample() {
+        CreateMeetup filter = CreateMeetup.builder()
+                .event("Event " + ThreadLocalRandom.current().nextInt(1, events + 1))
+                .build();
+        return createMeetupService.findAllEventMeetup(filter, PAGE);
+    }
+
+    @Benchmark
+    public Page<Meetup> meetupFindAll() {
+        return meetupService.findAll(randomFilter(), PAGE);
+    }
+
+    @Benchmark
+    public List<MeetupDTO> meetupFindAllMapped() {
+        return meetupService.findAll(randomFilter(), PAGE)
+                .getContent()
+                .stream()
+                .map(meetupMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private MeetupFilterDTO randomFilter() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return MeetupFilterDTO.builder()
+                .registration("R" + random.nextInt(1, registrations + 1))
+                .event("Event " + random.nextInt(1, events + 1))
+                .build();
+    }
+}
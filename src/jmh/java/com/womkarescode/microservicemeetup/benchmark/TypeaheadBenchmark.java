@@ -0,0 +1,58 @@
+package com.womkarescode.microservicemeetup.benchmark;
+
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSuggestionDTO;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.search.RegistrationSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Front-desk typeahead over a million registrations: partial first names, surnames and e-mail fragments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TypeaheadBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Ana", "Beatriz", "Camila", "Daniela", "Fernanda", "Gabriela",
+            "Helena", "Isabela", "Juliana", "Larissa", "Mariana", "Natália", "Patrícia", "Rafaela", "Thamyris"};
+
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Neri"};
+
+    @Param({"1000000"})
+    private int registrations;
+
+    @Param({"ju", "mari", "natal", "oliv", "carvalho", "ana sil", "beatriz r", "rafaela.mar", "4217", "gmail",
+            "thamyris neri 9"})
+    private String query;
+
+    private RegistrationSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new RegistrationSearchIndex();
+        Random random = new Random(42);
+        for (long id = 1; id <= registrations; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            index.index(Registration.builder()
+                    .id(id)
+                    .registration("R" + id)
+                    .name(first + " " + last + " " + id)
+                    .email(first.toLowerCase() + "." + last.toLowerCase() + id + "@gmail.com")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<RegistrationSuggestionDTO> typeahead() {
+        return index.typeahead(query, 10);
+    }
+}
@@ -0,0 +1,88 @@
+package com.womkarescode.microservicemeetup.config;
+
+import com.womkarescode.microservicemeetup.metrics.SqlBudgetFilter;
+import com.womkarescode.microservicemeetup.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class MetricsConfig {
+
+    // Sign-up and list endpoints get full latency histograms; the rest keep the default count/sum/max timers.
+    static final Set<String> HISTOGRAM_URIS = Set.of(
+            "/api/meetups",
+            "/api/meetups/signups",
+            "/api/meetups/cursor",
+            "/api/meetups/list",
+            "/api/registration",
+            "/api/registration/cursor",
+            "/api/registration/list",
+            "/api/create-meetups",
+            "/api/create-meetups/cursor",
+            "/api/create-meetups/list");
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter(@Value("${meetup.sql.slow-query-threshold}") Duration slowQueryThreshold) {
+        return new SqlStatementCounter(slowQueryThreshold);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSource(ObjectProvider<SqlStatementCounter> sqlStatementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only pools are wrapped; routing and lazy proxies in front of them would count every statement twice.
+                if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource || bean instanceof DelegatingDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(sqlStatementCounter.getObject())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry,
+                                                                   @Value("${meetup.sql.budget.statements}") int statementBudget,
+                                                                   @Value("${meetup.sql.budget.time}") Duration timeBudget,
+                                                                   @Value("${meetup.sql.budget.fail-on-exceed}") boolean failOnExceed) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlBudgetFilter(sqlStatementCounter, meterRegistry, statementBudget, timeBudget, failOnExceed));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public MeterFilter endpointLatencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!"http.server.requests".equals(id.getName()) || !HISTOGRAM_URIS.contains(id.getTag("uri"))) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.womkarescode.microservicemeetup.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactorConfig {
+
+    public static final String DB_SCHEDULER = "dbScheduler";
+
+    // Blocking JPA calls run here; capping the threads at the connection pool size means a burst of slow
+    // clients queues tasks instead of piling up threads that would only wait for a connection.
+    @Bean(name = DB_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler dbScheduler(@Value("${meetup.reactive.db-threads:10}") int threads) {
+        return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "db-read");
+    }
+}
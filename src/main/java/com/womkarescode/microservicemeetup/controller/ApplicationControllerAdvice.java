@@ -2,8 +2,10 @@ package com.womkarescode.microservicemeetup.controller;
 
 import com.womkarescode.microservicemeetup.controller.exceptions.ApiErrors;
 import com.womkarescode.microservicemeetup.exception.BusinessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,6 +31,13 @@ public class ApplicationControllerAdvice {
         return new ApiErrors(e);
     }
 
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiErrors> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiErrors("Database busy, try again"));
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     @ResponseStatus
     public ResponseEntity handleResponseStatusException(ResponseStatusException ex) {
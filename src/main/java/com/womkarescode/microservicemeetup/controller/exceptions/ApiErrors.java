@@ -22,6 +22,10 @@ public class ApiErrors {
         this.errors = Arrays.asList(e.getMessage());
     }
 
+    public ApiErrors(String message) {
+        this.errors = Arrays.asList(message);
+    }
+
     public ApiErrors(ResponseStatusException e) {
         this.errors = Arrays.asList(e.getReason());
     }
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
 import java.time.LocalDate;
 
 @Data
@@ -29,4 +30,7 @@ public class CreateMeetupForm {
 
     @NotEmpty
     private String linkMeetup;
+
+    @Positive
+    private Integer capacity;
 }
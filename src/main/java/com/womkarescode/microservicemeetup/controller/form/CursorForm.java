@@ -0,0 +1,39 @@
+package com.womkarescode.microservicemeetup.controller.form;
+
+import com.womkarescode.microservicemeetup.model.dto.CursorPageDTO;
+import com.womkarescode.microservicemeetup.model.dto.DateCursorDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorForm {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 1000;
+
+    private String cursor;
+
+    private Integer size;
+
+    private boolean withTotal;
+
+    public Long afterId() {
+        return cursor == null || cursor.isEmpty() ? 0L : CursorPageDTO.decodeCursor(cursor);
+    }
+
+    public DateCursorDTO afterDateKey() {
+        return cursor == null || cursor.isEmpty() ? null : CursorPageDTO.decodeDateCursor(cursor);
+    }
+
+    public int pageSize() {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+}
@@ -0,0 +1,33 @@
+package com.womkarescode.microservicemeetup.controller.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DateRangeForm {
+
+    public static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    public static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate from;
+
+    @DateTimeFormat(pattern = "dd/MM/yyyy")
+    private LocalDate to;
+
+    public LocalDate fromOrEarliest() {
+        return from == null ? EARLIEST : from;
+    }
+
+    public LocalDate toOrLatest() {
+        return to == null ? LATEST : to;
+    }
+}
@@ -1,11 +1,17 @@
 package com.womkarescode.microservicemeetup.controller.resource;
 
 import com.womkarescode.microservicemeetup.controller.form.CreateMeetupForm;
+import com.womkarescode.microservicemeetup.controller.form.CursorForm;
+import com.womkarescode.microservicemeetup.controller.form.DateRangeForm;
+import com.womkarescode.microservicemeetup.mapper.CreateMeetupMapper;
+import com.womkarescode.microservicemeetup.model.dto.AttendanceDTO;
 import com.womkarescode.microservicemeetup.model.dto.CreateMeetupDTO;
+import com.womkarescode.microservicemeetup.model.dto.CreateMeetupSummaryDTO;
+import com.womkarescode.microservicemeetup.model.dto.CursorPageDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.service.AttendanceService;
 import com.womkarescode.microservicemeetup.service.CreateMeetupService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,23 +29,26 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CreateMeetupController {
 
+    static final int ATTENDANCE_MAX_IDS = 1000;
+
     private final CreateMeetupService service;
-    private final ModelMapper modelMapper;
+    private final CreateMeetupMapper createMeetupMapper;
+    private final AttendanceService attendanceService;
 
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public CreateMeetupDTO createMeetup (@RequestBody @Valid CreateMeetupForm meetupForm){
-        CreateMeetup createEvent = modelMapper.map(meetupForm, CreateMeetup.class);
+        CreateMeetup createEvent = createMeetupMapper.toEntity(meetupForm);
         createEvent = service.saveNewEventMeetup(createEvent);
-        return modelMapper.map(createEvent, CreateMeetupDTO.class);
+        return toDTO(createEvent);
     }
 
     @GetMapping("{id}")
     @ResponseStatus(HttpStatus.OK)
     public CreateMeetupDTO getMeetupEvent(@PathVariable Long id){
         return service.getEventById(id)
-                .map(event -> modelMapper.map(event,CreateMeetupDTO.class))
+                .map(this::toDTO)
                 .orElseThrow(()-> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
@@ -50,8 +60,9 @@ public class CreateMeetupController {
             event.setEventDate(meetupForm.getEventDate());
             event.setLinkMeetup(meetupForm.getLinkMeetup());
             event.setGuestSpeaker(meetupForm.getGuestSpeaker());
+            event.setCapacity(meetupForm.getCapacity());
             event = service.updateEventMeetup(event);
-            return modelMapper.map(event, CreateMeetupDTO.class);
+            return toDTO(event);
 
         }).orElseThrow( () -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
@@ -66,14 +77,94 @@ public class CreateMeetupController {
 
     @GetMapping
     public Page<CreateMeetupDTO> findAllEvents(CreateMeetupForm meetupForm, Pageable pageRequest ){
-        CreateMeetup filter = modelMapper.map(meetupForm, CreateMeetup.class);
+        CreateMeetup filter = createMeetupMapper.toEntity(meetupForm);
         Page<CreateMeetup> result = service.findAllEventMeetup(filter, pageRequest);
         List<CreateMeetupDTO> list = result.getContent()
                 .stream()
-                .map(entity -> modelMapper.map(entity, CreateMeetupDTO.class))
+                .map(this::toDTO)
                 .collect(Collectors.toList());
 
         return new PageImpl<CreateMeetupDTO>( list, pageRequest, result.getTotalElements());
     }
 
+    @GetMapping("search")
+    public Page<CreateMeetupDTO> searchEvents(@RequestParam("q") String query, Pageable pageRequest){
+        Page<CreateMeetup> result = service.searchEventMeetup(query, pageRequest);
+        List<CreateMeetupDTO> list = result.getContent()
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+
+        return new PageImpl<CreateMeetupDTO>( list, pageRequest, result.getTotalElements());
+    }
+
+    @GetMapping("cursor")
+    public CursorPageDTO<CreateMeetupDTO> findAllEventsByCursor(CursorForm cursorForm){
+        List<CreateMeetupDTO> list = service.findAllEventMeetupAfter(cursorForm.afterId(), cursorForm.pageSize() + 1)
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+
+        Long total = cursorForm.isWithTotal() ? service.countEventMeetup() : null;
+        return CursorPageDTO.of(list, cursorForm.pageSize(), CreateMeetupDTO::getId, total);
+    }
+
+    @GetMapping("list")
+    public CursorPageDTO<CreateMeetupSummaryDTO> findEventSummariesByCursor(CursorForm cursorForm){
+        List<CreateMeetupSummaryDTO> list = service.findEventSummariesAfter(cursorForm.afterId(), cursorForm.pageSize() + 1);
+        Long total = cursorForm.isWithTotal() ? service.countEventMeetup() : null;
+        return CursorPageDTO.of(list, cursorForm.pageSize(), CreateMeetupSummaryDTO::getId, total);
+    }
+
+    @GetMapping("attendance")
+    public List<AttendanceDTO> findAttendance(@RequestParam List<Long> ids){
+        if(ids.size() > ATTENDANCE_MAX_IDS){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + ATTENDANCE_MAX_IDS + " event ids per request");
+        }
+        return attendanceService.getAttendance(ids);
+    }
+
+    @GetMapping("calendar")
+    public CursorPageDTO<CreateMeetupDTO> findEventsByDate(DateRangeForm dateRangeForm, CursorForm cursorForm){
+        return eventsBetween(dateRangeForm.fromOrEarliest(), dateRangeForm.toOrLatest(), cursorForm);
+    }
+
+    @GetMapping("upcoming")
+    public CursorPageDTO<CreateMeetupDTO> findUpcomingEvents(@RequestParam(required = false) Integer days, CursorForm cursorForm){
+        LocalDate today = LocalDate.now();
+        LocalDate to = days == null ? DateRangeForm.LATEST : today.plusDays(Math.max(days, 0));
+        return eventsBetween(today, to, cursorForm);
+    }
+
+    @GetMapping("past")
+    public CursorPageDTO<CreateMeetupDTO> findPastEvents(CursorForm cursorForm){
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        List<CreateMeetupDTO> list = service
+                .findEventMeetupBetweenNewestFirst(DateRangeForm.EARLIEST, yesterday, cursorForm.afterDateKey(), cursorForm.pageSize() + 1)
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+
+        Long total = cursorForm.isWithTotal() ? service.countEventMeetupBetween(DateRangeForm.EARLIEST, yesterday) : null;
+        return CursorPageDTO.of(list, cursorForm.pageSize(), CreateMeetupDTO::getEventDate, CreateMeetupDTO::getId, total);
+    }
+
+    private CursorPageDTO<CreateMeetupDTO> eventsBetween(LocalDate from, LocalDate to, CursorForm cursorForm){
+        List<CreateMeetupDTO> list = service
+                .findEventMeetupBetween(from, to, cursorForm.afterDateKey(), cursorForm.pageSize() + 1)
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+
+        Long total = cursorForm.isWithTotal() ? service.countEventMeetupBetween(from, to) : null;
+        return CursorPageDTO.of(list, cursorForm.pageSize(), CreateMeetupDTO::getEventDate, CreateMeetupDTO::getId, total);
+    }
+
+    private CreateMeetupDTO toDTO(CreateMeetup event){
+        CreateMeetupDTO dto = createMeetupMapper.toDTO(event);
+        dto.setAttendees(attendanceService.getAttendees(event.getId()));
+        dto.setWaitlisted(attendanceService.getWaitlisted(event.getId()));
+        return dto;
+    }
+
 }
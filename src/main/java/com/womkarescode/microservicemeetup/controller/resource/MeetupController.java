@@ -1,24 +1,50 @@
 package com.womkarescode.microservicemeetup.controller.resource;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.womkarescode.microservicemeetup.controller.form.CursorForm;
+import com.womkarescode.microservicemeetup.controller.form.DateRangeForm;
+import com.womkarescode.microservicemeetup.mapper.MeetupMapper;
+import com.womkarescode.microservicemeetup.model.dto.AttendeeExportDTO;
+import com.womkarescode.microservicemeetup.model.dto.CursorPageDTO;
 import com.womkarescode.microservicemeetup.model.dto.MeetupDTO;
 import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
-import com.womkarescode.microservicemeetup.model.dto.RegistrationDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupSummaryDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.IdempotentRequest;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import com.womkarescode.microservicemeetup.service.CreateMeetupService;
+import com.womkarescode.microservicemeetup.service.IdempotencyService;
 import com.womkarescode.microservicemeetup.service.MeetupService;
 import com.womkarescode.microservicemeetup.service.RegistrationService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,14 +52,48 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MeetupController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final MeetupService meetupService;
     private final RegistrationService registrationService;
     private final CreateMeetupService createMeetupService;
-    private final ModelMapper modelMapper;
+    private final MeetupMapper meetupMapper;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public MeetupDTO createRegisterForEvent(@RequestBody MeetupFilterDTO filterDTO){
+    public MeetupDTO createRegisterForEvent(@RequestBody MeetupFilterDTO filterDTO,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                            HttpServletResponse response){
+        if(idempotencyKey == null){
+            return register(filterDTO);
+        }
+
+        Optional<IdempotentRequest> stored = idempotencyService.claim(idempotencyKey, fingerprint(filterDTO));
+        if(stored.isPresent()){
+            String storedResponse = stored.get().getResponseBody();
+            if(storedResponse == null){
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key is still in progress");
+            }
+            response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+            return readMeetupDTO(storedResponse);
+        }
+
+        MeetupDTO dto;
+        try {
+            dto = register(filterDTO);
+        } catch (RuntimeException e) {
+            idempotencyService.release(idempotencyKey);
+            throw e;
+        }
+        idempotencyService.storeResponse(idempotencyKey, writeMeetupDTO(dto));
+        return dto;
+    }
+
+    private MeetupDTO register(MeetupFilterDTO filterDTO) {
         Registration registration = registrationService.getByRegistration(filterDTO.getRegistration())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST));
 
@@ -45,9 +105,7 @@ public class MeetupController {
                 .registration(registration)
                 .build();
 
-        entity = meetupService.save(entity);
-        MeetupDTO dto = modelMapper.map(entity, MeetupDTO.class);
-        return dto;
+        return meetupMapper.toDTO(meetupService.save(entity));
     }
 
     @GetMapping
@@ -57,16 +115,139 @@ public class MeetupController {
         List<MeetupDTO> meetups = result
                 .getContent()
                 .stream()
-                .map(entity -> {
+                .map(meetupMapper::toDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<MeetupDTO>(meetups, pageRequest, result.getTotalElements());
+    }
+
+    @GetMapping("cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPageDTO<MeetupDTO> findAllByCursor(MeetupFilterDTO meetupFilterDTO, CursorForm cursorForm){
+        List<MeetupDTO> meetups = meetupService
+                .findAllAfter(meetupFilterDTO, cursorForm.afterId(), cursorForm.pageSize() + 1)
+                .stream()
+                .map(meetupMapper::toDTO)
+                .collect(Collectors.toList());
 
-                    Registration registration = entity.getRegistration();
-                    RegistrationDTO registrationDTO = modelMapper.map(registration, RegistrationDTO.class);
+        Long total = cursorForm.isWithTotal() ? meetupService.count(meetupFilterDTO) : null;
+        return CursorPageDTO.of(meetups, cursorForm.pageSize(), MeetupDTO::getId, total);
+    }
 
-                    MeetupDTO meetupDTO = modelMapper.map(entity, MeetupDTO.class);
-                    meetupDTO.setRegistration(registrationDTO);
-                    return meetupDTO;
+    @GetMapping("list")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPageDTO<MeetupSummaryDTO> findSummariesByCursor(MeetupFilterDTO meetupFilterDTO, CursorForm cursorForm){
+        List<MeetupSummaryDTO> meetups = meetupService
+                .findSummariesAfter(meetupFilterDTO, cursorForm.afterId(), cursorForm.pageSize() + 1);
+        Long total = cursorForm.isWithTotal() ? meetupService.count(meetupFilterDTO) : null;
+        return CursorPageDTO.of(meetups, cursorForm.pageSize(), MeetupSummaryDTO::getId, total);
+    }
 
-                }).collect(Collectors.toList());
-        return new PageImpl<MeetupDTO>(meetups, pageRequest, result.getTotalElements());
+    @GetMapping("calendar")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPageDTO<MeetupDTO> findAllByDate(@RequestParam(required = false) Long eventId,
+                                                  DateRangeForm dateRangeForm, CursorForm cursorForm){
+        LocalDate from = dateRangeForm.fromOrEarliest();
+        LocalDate to = dateRangeForm.toOrLatest();
+        List<MeetupDTO> meetups = meetupService
+                .findAllRegisteredBetween(eventId, from, to, cursorForm.afterDateKey(), cursorForm.pageSize() + 1)
+                .stream()
+                .map(meetupMapper::toDTO)
+                .collect(Collectors.toList());
+
+        Long total = cursorForm.isWithTotal() ? meetupService.countRegisteredBetween(eventId, from, to) : null;
+        return CursorPageDTO.of(meetups, cursorForm.pageSize(), MeetupDTO::getMeetupDateRegistration, MeetupDTO::getId, total);
+    }
+
+    @DeleteMapping("{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelRegisterForEvent(@PathVariable Long id){
+        Meetup meetup = meetupService.getById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        meetupService.cancel(meetup);
+    }
+
+    @GetMapping("events/{eventId}/export")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(@PathVariable Long eventId,
+                                                                 @RequestParam(defaultValue = "ndjson") String format){
+        CreateMeetup event = createMeetupService.getEventById(eventId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if(!csv && !"ndjson".equalsIgnoreCase(format)){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if(csv){
+                writer.write("meetupId,registration,name,email,meetupDateRegistration\n");
+            }
+            ObjectWriter jsonWriter = objectMapper.writerFor(AttendeeExportDTO.class);
+            meetupService.exportAttendees(event.getId(), attendee -> {
+                try {
+                    writer.write(csv ? toCsvLine(attendee) : jsonWriter.writeValueAsString(attendee));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"event-" + event.getId() + (csv ? ".csv" : ".ndjson") + "\"")
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Each field is length-prefixed before hashing, so no pair of values can run into another pair.
+    private static String fingerprint(MeetupFilterDTO filterDTO) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[]{filterDTO.getRegistration(), filterDTO.getEvent()}) {
+                byte[] bytes = field == null ? new byte[0] : field.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(field == null ? -1 : bytes.length).array());
+                digest.update(bytes);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private MeetupDTO readMeetupDTO(String json) {
+        try {
+            return objectMapper.readValue(json, MeetupDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not a valid meetup", e);
+        }
+    }
+
+    private String writeMeetupDTO(MeetupDTO dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Meetup response could not be stored for replay", e);
+        }
+    }
+
+    private static String toCsvLine(AttendeeExportDTO attendee) {
+        return String.join(",",
+                String.valueOf(attendee.getMeetupId()),
+                csvField(attendee.getRegistration()),
+                csvField(attendee.getName()),
+                csvField(attendee.getEmail()),
+                attendee.getMeetupDateRegistration() == null ? "" : attendee.getMeetupDateRegistration().toString());
+    }
+
+    private static String csvField(String value) {
+        if(value == null){
+            return "";
+        }
+        if(value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")){
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
     }
 }
@@ -0,0 +1,60 @@
+package com.womkarescode.microservicemeetup.controller.resource;
+
+import com.womkarescode.microservicemeetup.controller.form.CursorForm;
+import com.womkarescode.microservicemeetup.mapper.CreateMeetupMapper;
+import com.womkarescode.microservicemeetup.mapper.MeetupMapper;
+import com.womkarescode.microservicemeetup.mapper.RegistrationMapper;
+import com.womkarescode.microservicemeetup.model.dto.CreateMeetupDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.service.AttendanceService;
+import com.womkarescode.microservicemeetup.service.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+    private final CreateMeetupMapper createMeetupMapper;
+    private final RegistrationMapper registrationMapper;
+    private final MeetupMapper meetupMapper;
+    private final AttendanceService attendanceService;
+
+    @GetMapping("create-meetups/{id}")
+    public Mono<CreateMeetupDTO> getMeetupEvent(@PathVariable Long id){
+        return reactiveReadService.getEventById(id)
+                .map(this::toDTO)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    @GetMapping("registration/{id}")
+    public Mono<RegistrationDTO> getRegistration(@PathVariable Long id){
+        return reactiveReadService.getRegistrationById(id)
+                .map(registrationMapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    @GetMapping(value = "meetups", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<MeetupDTO> findAll(MeetupFilterDTO meetupFilterDTO, CursorForm cursorForm){
+        return reactiveReadService.findAll(meetupFilterDTO, cursorForm.afterId(), cursorForm.pageSize())
+                .map(meetupMapper::toDTO);
+    }
+
+    // Runs on the scheduler the event was read on, and fills the counters as the blocking event endpoints do.
+    private CreateMeetupDTO toDTO(CreateMeetup event){
+        CreateMeetupDTO dto = createMeetupMapper.toDTO(event);
+        dto.setAttendees(attendanceService.getAttendees(event.getId()));
+        dto.setWaitlisted(attendanceService.getWaitlisted(event.getId()));
+        return dto;
+    }
+}
@@ -1,51 +1,160 @@
 package com.womkarescode.microservicemeetup.controller.resource;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.womkarescode.microservicemeetup.controller.form.CursorForm;
+import com.womkarescode.microservicemeetup.exception.BusinessException;
 import com.womkarescode.microservicemeetup.controller.form.RegistrationForm;
+import com.womkarescode.microservicemeetup.mapper.RegistrationMapper;
+import com.womkarescode.microservicemeetup.model.dto.CursorPageDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupHistoryView;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationImportDTO;
 import com.womkarescode.microservicemeetup.model.dto.RegistrationDTO;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSuggestionDTO;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSummaryDTO;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.MeetupService;
 import com.womkarescode.microservicemeetup.service.RegistrationService;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/registration")
 public class RegistrationController {
 
+    static final int IMPORT_CHUNK_SIZE = 1000;
+
+    static final int IMPORT_REJECTIONS_LISTED = 100;
+
+    static final int TYPEAHEAD_MAX_LIMIT = 50;
+
     @Autowired
     private RegistrationService service;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private RegistrationMapper registrationMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private MeetupService meetupService;
 
-    public RegistrationController(RegistrationService registrationService, ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public RegistrationController(RegistrationService registrationService, RegistrationMapper registrationMapper,
+                                  ObjectMapper objectMapper, Validator validator, MeetupService meetupService) {
+        this.registrationMapper = registrationMapper;
         this.service = registrationService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.meetupService = meetupService;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public RegistrationDTO create (@RequestBody @Valid RegistrationForm registrationForm){
 
-        Registration registration = modelMapper.map(registrationForm, Registration.class);
+        Registration registration = registrationMapper.toEntity(registrationForm);
         registration = service.save(registration);
-        return modelMapper.map(registration, RegistrationDTO.class);
+        return registrationMapper.toDTO(registration);
+    }
+
+    @PostMapping(value = "bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @ResponseStatus(HttpStatus.CREATED)
+    public RegistrationImportDTO importRegistrations(HttpServletRequest request) throws IOException {
+        RegistrationImportDTO result = new RegistrationImportDTO();
+        List<Registration> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<Long> records = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+        // A JSON array and an NDJSON stream are both read one element at a time, so only one chunk is in memory.
+        try (MappingIterator<RegistrationForm> forms = objectMapper.readerFor(RegistrationForm.class)
+                .readValues(request.getInputStream())) {
+            while (forms.hasNextValue()) {
+                RegistrationForm form = forms.nextValue();
+                result.setReceived(result.getReceived() + 1);
+                Set<ConstraintViolation<RegistrationForm>> violations = validator.validate(form);
+                if (!violations.isEmpty()) {
+                    reject(result, result.getReceived(), form.getRegistration(), violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+                chunk.add(registrationMapper.toEntity(form));
+                records.add(result.getReceived());
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    importChunk(chunk, records, result);
+                    chunk.clear();
+                    records.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Malformed registration at record " + (result.getReceived() + 1)
+                    + ", " + result.getImported() + " registrations already imported");
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, records, result);
+        }
+
+        result.setDuplicated(result.getReceived() - result.getRejected() - result.getImported());
+        return result;
+    }
+
+    private void importChunk(List<Registration> chunk, List<Long> records, RegistrationImportDTO result) {
+        // Each chunk commits on its own, so a failed chunk does not undo the ones before it.
+        try {
+            result.setImported(result.getImported() + service.saveAll(chunk).size());
+            return;
+        } catch (BusinessException | DataIntegrityViolationException e) {
+            // The whole chunk was rolled back; save its rows one by one below so only the failing ones are lost.
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Registration registration = chunk.get(i);
+            // The rolled back chunk may have handed out sequence ids that are not in the table.
+            registration.setId(null);
+            try {
+                service.save(registration);
+                result.setImported(result.getImported() + 1);
+            } catch (BusinessException e) {
+                // Already stored, by an earlier row or a concurrent import: counted as duplicated.
+            } catch (DataIntegrityViolationException e) {
+                reject(result, records.get(i), registration.getRegistration(), "Registration could not be stored");
+            }
+        }
+    }
+
+    private static void reject(RegistrationImportDTO result, long record, String registration, String reason) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getRejections().size() < IMPORT_REJECTIONS_LISTED) {
+            result.getRejections().add(new RegistrationImportDTO.Rejection(record, registration, reason));
+        }
     }
 
     @GetMapping("{id}")
     @ResponseStatus(HttpStatus.OK)
     public RegistrationDTO getRegistration(@PathVariable Long id){
         return service.getRegistrationById(id)
-                .map(registration -> modelMapper.map(registration,RegistrationDTO.class))
+                .map(registrationMapper::toDTO)
                 .orElseThrow(()-> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
@@ -64,22 +173,63 @@ public class RegistrationController {
             registration.setEmail(registrationForm.getEmail());
             registration = service.update(registration);
 
-            return modelMapper.map(registration, RegistrationDTO.class);
+            return registrationMapper.toDTO(registration);
         }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
     }
 
     @GetMapping
     public Page<RegistrationDTO> find(RegistrationDTO registrationDTO , Pageable pageble){
-        Registration filter = modelMapper.map(registrationDTO,Registration.class);
+        Registration filter = registrationMapper.toEntity(registrationDTO);
         Page<Registration> result = service.find(filter,pageble);
 
         List<RegistrationDTO> list = result.getContent()
                 .stream()
-                .map(entity -> modelMapper.map(entity,RegistrationDTO.class))
+                .map(registrationMapper::toDTO)
                 .collect(Collectors.toList());
 
         return new PageImpl<RegistrationDTO>(list,pageble,result.getTotalElements());
     }
 
+    @GetMapping("search")
+    public Page<RegistrationDTO> search(@RequestParam("q") String query, Pageable pageble){
+        Page<Registration> result = service.search(query, pageble);
+
+        List<RegistrationDTO> list = result.getContent()
+                .stream()
+                .map(registrationMapper::toDTO)
+                .collect(Collectors.toList());
+
+        return new PageImpl<RegistrationDTO>(list,pageble,result.getTotalElements());
+    }
+
+    @GetMapping("typeahead")
+    public List<RegistrationSuggestionDTO> typeahead(@RequestParam("q") String query,
+                                                     @RequestParam(defaultValue = "10") int limit){
+        return service.typeahead(query, Math.min(Math.max(limit, 1), TYPEAHEAD_MAX_LIMIT));
+    }
+
+    @GetMapping("code/{registration}/meetups")
+    public Page<MeetupHistoryView> findMeetupHistory(@PathVariable String registration, Pageable pageable){
+        return meetupService.getHistoryByRegistration(registration, pageable);
+    }
+
+    @GetMapping("cursor")
+    public CursorPageDTO<RegistrationDTO> findByCursor(CursorForm cursorForm){
+        List<RegistrationDTO> list = service.findAfter(cursorForm.afterId(), cursorForm.pageSize() + 1)
+                .stream()
+                .map(registrationMapper::toDTO)
+                .collect(Collectors.toList());
+
+        Long total = cursorForm.isWithTotal() ? service.count() : null;
+        return CursorPageDTO.of(list, cursorForm.pageSize(), RegistrationDTO::getId, total);
+    }
+
+    @GetMapping("list")
+    public CursorPageDTO<RegistrationSummaryDTO> findSummariesByCursor(CursorForm cursorForm){
+        List<RegistrationSummaryDTO> list = service.findSummariesAfter(cursorForm.afterId(), cursorForm.pageSize() + 1);
+        Long total = cursorForm.isWithTotal() ? service.count() : null;
+        return CursorPageDTO.of(list, cursorForm.pageSize(), RegistrationSummaryDTO::getId, total);
+    }
+
 }
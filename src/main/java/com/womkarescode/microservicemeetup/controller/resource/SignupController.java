@@ -0,0 +1,65 @@
+package com.womkarescode.microservicemeetup.controller.resource;
+
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.dto.SignupStatusDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.CreateMeetupService;
+import com.womkarescode.microservicemeetup.service.RegistrationService;
+import com.womkarescode.microservicemeetup.service.SignupQueueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/meetups/signups")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "meetup.signup.async.enabled", havingValue = "true")
+public class SignupController {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private final SignupQueueService signupQueueService;
+    private final RegistrationService registrationService;
+    private final CreateMeetupService createMeetupService;
+
+    @PostMapping
+    public ResponseEntity<SignupStatusDTO> submitSignup(@RequestBody MeetupFilterDTO filterDTO){
+        Registration registration = registrationService.getByRegistration(filterDTO.getRegistration())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST));
+
+        CreateMeetup event = createMeetupService.findByEvent(filterDTO.getEvent())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST));
+
+        Meetup entity = Meetup.builder()
+                .eventDetails(event)
+                .registration(registration)
+                .build();
+
+        return signupQueueService.submit(entity)
+                .map(status -> ResponseEntity
+                        .accepted()
+                        .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                                .path("/{id}")
+                                .buildAndExpand(status.getId())
+                                .toUri())
+                        .body(status))
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                        .build());
+    }
+
+    @GetMapping("{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public SignupStatusDTO getSignupStatus(@PathVariable String id){
+        return signupQueueService.getStatus(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+}
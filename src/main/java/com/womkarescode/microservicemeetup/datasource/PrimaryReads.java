@@ -0,0 +1,61 @@
+package com.womkarescode.microservicemeetup.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps read-only transactions of the current thread on the primary instead of the replica: for reads that
+ * seed in-memory state, and for the rest of a request that has already written.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private static final ThreadLocal<Runnable> ON_FIRST_WRITE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        if (isPinned()) {
+            return reads.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    public static void run(Runnable reads) {
+        call(() -> {
+            reads.run();
+            return null;
+        });
+    }
+
+    static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    static void beginRequest(boolean pinned, Runnable onFirstWrite) {
+        if (pinned) {
+            PINNED.set(Boolean.TRUE);
+        }
+        ON_FIRST_WRITE.set(onFirstWrite);
+    }
+
+    static void endRequest() {
+        PINNED.remove();
+        ON_FIRST_WRITE.remove();
+    }
+
+    static void wrote() {
+        Runnable onFirstWrite = ON_FIRST_WRITE.get();
+        if (onFirstWrite != null) {
+            ON_FIRST_WRITE.remove();
+            PINNED.set(Boolean.TRUE);
+            onFirstWrite.run();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.womkarescode.microservicemeetup.mapper;
+
+import com.womkarescode.microservicemeetup.controller.form.CreateMeetupForm;
+import com.womkarescode.microservicemeetup.model.dto.CreateMeetupDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapperSpringConfig.class)
+public interface CreateMeetupMapper {
+
+    CreateMeetupDTO toDTO(CreateMeetup createMeetup);
+
+    CreateMeetup toEntity(CreateMeetupForm createMeetupForm);
+}
@@ -0,0 +1,17 @@
+package com.womkarescode.microservicemeetup.mapper;
+
+import org.mapstruct.Builder;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+// Lombok builders skip the field initializers (e.g. dateOfRegistration = now()), so mappers go through
+// the no-args constructor and setters like ModelMapper did.
+@MapperConfig(
+        componentModel = "spring",
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE,
+        builder = @Builder(disableBuilder = true)
+)
+public interface MapperSpringConfig {
+}
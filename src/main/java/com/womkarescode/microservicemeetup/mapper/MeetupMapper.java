@@ -0,0 +1,13 @@
+package com.womkarescode.microservicemeetup.mapper;
+
+import com.womkarescode.microservicemeetup.model.dto.MeetupDTO;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapperSpringConfig.class, uses = {RegistrationMapper.class, CreateMeetupMapper.class})
+public interface MeetupMapper {
+
+    @Mapping(target = "registrationAttribute", source = "registration.registration")
+    MeetupDTO toDTO(Meetup meetup);
+}
@@ -0,0 +1,16 @@
+package com.womkarescode.microservicemeetup.mapper;
+
+import com.womkarescode.microservicemeetup.controller.form.RegistrationForm;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationDTO;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MapperSpringConfig.class)
+public interface RegistrationMapper {
+
+    RegistrationDTO toDTO(Registration registration);
+
+    Registration toEntity(RegistrationForm registrationForm);
+
+    Registration toEntity(RegistrationDTO registrationDTO);
+}
@@ -0,0 +1,95 @@
+package com.womkarescode.microservicemeetup.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Times every service call and records how many rows each repository call returned. Repository latency
+ * itself is already timed by Spring Boot as {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    static final String SERVICE_CALLS = "meetup.service.calls";
+
+    static final String REPOSITORY_ROWS = "meetup.repository.rows";
+
+    private final MeterRegistry registry;
+
+    public MetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* com.womkarescode.microservicemeetup.service.RegistrationService+.*(..))"
+            + " || execution(* com.womkarescode.microservicemeetup.service.MeetupService+.*(..))"
+            + " || execution(* com.womkarescode.microservicemeetup.service.CreateMeetupService+.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_CALLS)
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    @AfterReturning(pointcut = "execution(* org.springframework.data.repository.Repository+.*(..))", returning = "result")
+    public void countRepositoryRows(JoinPoint joinPoint, Object result) {
+        Long rows = rowsOf(((MethodSignature) joinPoint.getSignature()).getReturnType(), result);
+        if (rows == null) {
+            return;
+        }
+        DistributionSummary.builder(REPOSITORY_ROWS)
+                .tag("repository", repositoryName(joinPoint.getTarget()))
+                .tag("method", joinPoint.getSignature().getName())
+                .register(registry)
+                .record(rows);
+    }
+
+    static Long rowsOf(Class<?> returnType, Object result) {
+        if (returnType == void.class || returnType.isPrimitive() || Number.class.isAssignableFrom(returnType)
+                || Boolean.class == returnType || Stream.class.isAssignableFrom(returnType)) {
+            return null;
+        }
+        if (result == null) {
+            return 0L;
+        }
+        if (result instanceof Collection) {
+            return (long) ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return (long) ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        }
+        return 1L;
+    }
+
+    private static String repositoryName(Object repository) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+        return interfaces.length == 0 ? repository.getClass().getSimpleName() : interfaces[0].getSimpleName();
+    }
+}
@@ -0,0 +1,119 @@
+package com.womkarescode.microservicemeetup.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Measures the SQL each request runs, publishes it per controller method and flags requests over the budget.
+ * With {@code failOnExceed} (the test profile) the body is held back until the request is measured, so an offending
+ * request fails instead of only being logged.
+ */
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    static final String SQL_STATEMENTS = "meetup.http.sql.statements";
+
+    static final String SQL_TIME = "meetup.http.sql.time";
+
+    private final SqlStatementCounter counter;
+
+    private final MeterRegistry registry;
+
+    private final int statementBudget;
+
+    private final Duration timeBudget;
+
+    private final boolean failOnExceed;
+
+    public SqlBudgetFilter(SqlStatementCounter counter, MeterRegistry registry,
+                           int statementBudget, Duration timeBudget, boolean failOnExceed) {
+        this.counter = counter;
+        this.registry = registry;
+        this.statementBudget = statementBudget;
+        this.timeBudget = timeBudget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // An async handler writes into the held-back body on a later dispatch, which then has to copy it out.
+        return !failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            filterChain.doFilter(request, response);
+            copyBodyToResponse(request, response);
+            return;
+        }
+
+        HttpServletResponse measured = failOnExceed ? new ContentCachingResponseWrapper(response) : response;
+        counter.start();
+        SqlStatementCounter.SqlUsage usage;
+        try {
+            filterChain.doFilter(request, measured);
+        } finally {
+            usage = counter.stop();
+        }
+        if (request.isAsyncStarted()) {
+            // The handler goes on in other threads, so what this thread saw is not the whole request.
+            return;
+        }
+
+        String handler = handlerName(request);
+        DistributionSummary.builder(SQL_STATEMENTS)
+                .description("SQL statements run while handling one request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(usage.getStatements());
+        Timer.builder(SQL_TIME)
+                .description("Time spent in the database while handling one request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(usage.getTime());
+
+        if (usage.getStatements() > statementBudget || usage.getTime().compareTo(timeBudget) > 0) {
+            String message = String.format("%s ran %d SQL statements in %d ms, over the budget of %d statements / %d ms",
+                    handler, usage.getStatements(), usage.getTime().toMillis(), statementBudget, timeBudget.toMillis());
+            if (failOnExceed) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+        copyBodyToResponse(request, measured);
+    }
+
+    private static void copyBodyToResponse(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper != null && !request.isAsyncStarted()) {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return handler == null ? "none" : handler.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,76 @@
+package com.womkarescode.microservicemeetup.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sees every statement sent through the proxied DataSource. Between {@link #start()} and {@link #stop()} it adds
+ * up the statements and the time spent in the database on the current thread; at any time it logs statements
+ * slower than the threshold.
+ */
+@Slf4j
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<SqlUsage> USAGE = new ThreadLocal<>();
+
+    private final long slowQueryMillis;
+
+    public SqlStatementCounter(Duration slowQueryThreshold) {
+        this.slowQueryMillis = slowQueryThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlUsage usage = USAGE.get();
+        if (usage != null) {
+            usage.queryStartedAt = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlUsage usage = USAGE.get();
+        if (usage != null) {
+            usage.statements++;
+            usage.nanos += System.nanoTime() - usage.queryStartedAt;
+        }
+        if (execInfo.getElapsedTime() >= slowQueryMillis) {
+            log.warn("Slow SQL ({} ms): {}", execInfo.getElapsedTime(), queryInfoList.stream()
+                    .map(QueryInfo::getQuery)
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    public void start() {
+        USAGE.set(new SqlUsage());
+    }
+
+    public SqlUsage stop() {
+        SqlUsage usage = USAGE.get();
+        USAGE.remove();
+        return usage == null ? new SqlUsage() : usage;
+    }
+
+    public static final class SqlUsage {
+
+        private int statements;
+
+        private long nanos;
+
+        private long queryStartedAt;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public Duration getTime() {
+            return Duration.ofNanos(nanos);
+        }
+    }
+}
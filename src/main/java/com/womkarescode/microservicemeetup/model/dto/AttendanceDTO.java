@@ -0,0 +1,19 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceDTO {
+
+    private Long eventId;
+
+    private Long attendees;
+
+    private Long waitlisted;
+}
@@ -32,4 +32,10 @@ public class CreateMeetupDTO {
     private String guestSpeaker;
 
     private String linkMeetup;
+
+    private Integer capacity;
+
+    private Long attendees;
+
+    private Long waitlisted;
 }
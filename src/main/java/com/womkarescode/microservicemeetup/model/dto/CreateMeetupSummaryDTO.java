@@ -0,0 +1,32 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class CreateMeetupSummaryDTO {
+
+    Long id;
+
+    String event;
+
+    @JsonSerialize(using = LocalDateSerializer.class)
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    LocalDate eventDate;
+
+    String hostedBy;
+
+    String guestSpeaker;
+
+    String linkMeetup;
+
+    Integer capacity;
+}
@@ -0,0 +1,89 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    private Long totalElements;
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows: the extra row only tells whether
+     * there is a next page and is dropped from the content.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, Long> idOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? encodeCursor(idOf.apply(content.get(content.size() - 1))) : null;
+        return new CursorPageDTO<>(content, size, hasNext, nextCursor, totalElements);
+    }
+
+    /**
+     * Same as {@link #of(List, int, Function, Long)} for pages ordered by {@code (date, id)}: the cursor carries
+     * both keys so the next page can seek past rows sharing the last date.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, LocalDate> dateOf,
+                                          Function<T, Long> idOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        T last = hasNext ? content.get(content.size() - 1) : null;
+        String nextCursor = hasNext ? encodeCursor(dateOf.apply(last), idOf.apply(last)) : null;
+        return new CursorPageDTO<>(content, size, hasNext, nextCursor, totalElements);
+    }
+
+    public static String encodeCursor(Long lastId) {
+        return encode(String.valueOf(lastId));
+    }
+
+    public static Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    public static String encodeCursor(LocalDate lastDate, Long lastId) {
+        return encode(lastDate + "_" + lastId);
+    }
+
+    public static DateCursorDTO decodeDateCursor(String cursor) {
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_", 2);
+            if (keys.length != 2) {
+                throw new BusinessException("Invalid cursor");
+            }
+            return new DateCursorDTO(LocalDate.parse(keys[0]), Long.valueOf(keys[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    private static String encode(String keys) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+}
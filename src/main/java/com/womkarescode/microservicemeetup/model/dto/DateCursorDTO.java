@@ -0,0 +1,19 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DateCursorDTO {
+
+    private LocalDate date;
+
+    private Long id;
+}
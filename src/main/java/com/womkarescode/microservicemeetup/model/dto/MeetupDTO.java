@@ -1,10 +1,18 @@
 package com.womkarescode.microservicemeetup.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,4 +26,11 @@ public class MeetupDTO {
     private CreateMeetupDTO eventDetails;
 
     private RegistrationDTO registration;
+
+    private MeetupStatus status;
+
+    @JsonDeserialize(using = LocalDateDeserializer.class)
+    @JsonSerialize(using = LocalDateSerializer.class)
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private LocalDate meetupDateRegistration;
 }
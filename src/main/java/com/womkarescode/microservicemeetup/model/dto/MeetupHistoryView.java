@@ -0,0 +1,30 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only row of an attendee's history, filled straight from the query columns without loading entities.
+ */
+public interface MeetupHistoryView {
+
+    Long getMeetupId();
+
+    MeetupStatus getStatus();
+
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    LocalDate getMeetupDateRegistration();
+
+    Long getEventId();
+
+    String getEvent();
+
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    LocalDate getEventDate();
+
+    String getHostedBy();
+
+    String getLinkMeetup();
+}
@@ -0,0 +1,35 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class MeetupSummaryDTO {
+
+    Long id;
+
+    MeetupStatus status;
+
+    @JsonSerialize(using = LocalDateSerializer.class)
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    LocalDate meetupDateRegistration;
+
+    Long registrationId;
+
+    String registration;
+
+    String name;
+
+    Long eventId;
+
+    String event;
+}
@@ -0,0 +1,40 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RegistrationImportDTO {
+
+    private long received;
+
+    private long imported;
+
+    private long duplicated;
+
+    private long rejected;
+
+    // The first rejected records with their position in the input; rejected counts them all.
+    @Builder.Default
+    private List<Rejection> rejections = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Rejection {
+
+        private long record;
+
+        private String registration;
+
+        private String reason;
+    }
+}
@@ -0,0 +1,21 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RegistrationSuggestionDTO {
+
+    private Long id;
+
+    private String registration;
+
+    private String name;
+
+    private String email;
+}
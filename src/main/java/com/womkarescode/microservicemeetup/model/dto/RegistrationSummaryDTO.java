@@ -0,0 +1,31 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * List row selected straight from the columns by a constructor expression; never a managed entity.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class RegistrationSummaryDTO {
+
+    Long id;
+
+    String name;
+
+    String email;
+
+    String registration;
+
+    @JsonSerialize(using = LocalDateSerializer.class)
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    LocalDate dateOfRegistration;
+}
@@ -0,0 +1,28 @@
+package com.womkarescode.microservicemeetup.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SignupStatusDTO {
+
+    public enum State {
+        PENDING,
+        CONFIRMED,
+        WAITLISTED,
+        REJECTED
+    }
+
+    private String id;
+
+    private State state;
+
+    private Long meetupId;
+
+    private String message;
+}
@@ -5,22 +5,33 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Table(uniqueConstraints = @UniqueConstraint(name = CreateMeetup.UK_EVENT, columnNames = "event"),
+        indexes = @Index(name = "idx_create_meetup_event_date", columnList = "event_date, id"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class CreateMeetup {
 
+    public static final String UK_EVENT = "uk_create_meetup_event";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column
     private String event;
 
@@ -37,6 +48,9 @@ public class CreateMeetup {
     @Column
     private String linkMeetup;
 
+    @Column
+    private Integer capacity;
+
     @OneToMany(mappedBy = "eventDetails")
     private List<Meetup> meetups;
 
@@ -0,0 +1,54 @@
+package com.womkarescode.microservicemeetup.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "idx_idempotent_request_created_at", columnList = "created_at"))
+public class IdempotentRequest implements Persistable<String> {
+
+    public static final int KEY_LENGTH = 128;
+
+    @Id
+    @Column(name = "idempotency_key", length = KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(name = "request_fingerprint")
+    private String requestFingerprint;
+
+    @Column(name = "response_body", length = 4000)
+    private String responseBody;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // The key is assigned by the client, so without this flag save() would merge and overwrite a concurrent claim.
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
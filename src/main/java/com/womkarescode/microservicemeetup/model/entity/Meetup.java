@@ -14,25 +14,43 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = Meetup.UK_REGISTRATION_EVENT,
+                columnNames = {"id_registration", "author_meetup"}),
+        indexes = {
+                @Index(name = "idx_meetup_event", columnList = "event"),
+                @Index(name = "idx_meetup_event_details_date", columnList = "author_meetup, meetup_date_registration, id"),
+                @Index(name = "idx_meetup_event_details_status", columnList = "author_meetup, status"),
+                @Index(name = "idx_meetup_date_registration", columnList = "meetup_date_registration, id"),
+                @Index(name = "idx_meetup_registration_date", columnList = "id_registration, meetup_date_registration, id")
+        })
 public class Meetup {
 
+    public static final String UK_REGISTRATION_EVENT = "uk_meetup_registration_event";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meetup_seq")
+    @SequenceGenerator(name = "meetup_seq", sequenceName = "meetup_seq", allocationSize = 50)
     private Long id;
 
     @Column
     private String event;
 
     @JoinColumn(name = "id_registration")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Registration registration;
 
     @Column
     @JsonFormat(pattern = "dd/MM/yyyy")
+    @Builder.Default
     private LocalDate meetupDateRegistration = LocalDate.now();
 
     @JoinColumn(name = "author_meetup")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private CreateMeetup eventDetails;
 
+    @Column
+    @Enumerated(EnumType.STRING)
+    private MeetupStatus status;
+
 }
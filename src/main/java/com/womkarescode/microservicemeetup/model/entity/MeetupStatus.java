@@ -0,0 +1,8 @@
+package com.womkarescode.microservicemeetup.model.entity;
+
+public enum MeetupStatus {
+
+    CONFIRMED,
+
+    WAITLISTED
+}
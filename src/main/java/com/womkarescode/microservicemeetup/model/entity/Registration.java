@@ -5,6 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -15,12 +19,17 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Table(uniqueConstraints = @UniqueConstraint(name = Registration.UK_REGISTRATION, columnNames = "registration"))
 public class Registration {
 
+    public static final String UK_REGISTRATION = "uk_registration_registration";
+
     @Id
     @Column(name = "registration_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registration_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "person_name")
@@ -36,6 +45,7 @@ public class Registration {
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate dateOfRegistration = LocalDate.now();
 
+    @NaturalId(mutable = true)
     @Column
     private String registration;
 
@@ -1,11 +1,46 @@
 package com.womkarescode.microservicemeetup.repository;
 
+import com.womkarescode.microservicemeetup.model.dto.CreateMeetupSummaryDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import javax.persistence.QueryHint;
 
-public interface CreateMeetupRepository  extends JpaRepository<CreateMeetup, Long> {
-    Optional<CreateMeetup> findByEvent(String event);
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+public interface CreateMeetupRepository  extends JpaRepository<CreateMeetup, Long>, CreateMeetupRepositoryCustom {
+
+    List<CreateMeetup> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query( value = " select new com.womkarescode.microservicemeetup.model.dto.CreateMeetupSummaryDTO(" +
+            " ev.id, ev.event, ev.eventDate, ev.hostedBy, ev.guestSpeaker, ev.linkMeetup, ev.capacity) " +
+            " from CreateMeetup as ev where ev.id > :afterId order by ev.id ")
+    List<CreateMeetupSummaryDTO> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints( value = @QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query( value = " select ev from CreateMeetup as ev where ev.eventDate >= :from and ev.eventDate <= :to " +
+            " and (ev.eventDate > :afterDate or (ev.eventDate = :afterDate and ev.id > :afterId)) " +
+            " order by ev.eventDate, ev.id ")
+    List<CreateMeetup> findByEventDateBetweenAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                   @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @QueryHints( value = @QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query( value = " select ev from CreateMeetup as ev where ev.eventDate >= :from and ev.eventDate <= :to " +
+            " and (ev.eventDate < :beforeDate or (ev.eventDate = :beforeDate and ev.id < :beforeId)) " +
+            " order by ev.eventDate desc, ev.id desc ")
+    List<CreateMeetup> findByEventDateBetweenBefore(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                    @Param("beforeDate") LocalDate beforeDate, @Param("beforeId") Long beforeId,
+                                                    Pageable pageable);
+
+    @QueryHints( value = @QueryHint(name = HINT_CACHEABLE, value = "true"))
+    long countByEventDateBetween(LocalDate from, LocalDate to);
 
 }
@@ -0,0 +1,10 @@
+package com.womkarescode.microservicemeetup.repository;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+
+import java.util.Optional;
+
+public interface CreateMeetupRepositoryCustom {
+
+    Optional<CreateMeetup> findByEvent(String event);
+}
@@ -0,0 +1,27 @@
+package com.womkarescode.microservicemeetup.repository;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+/**
+ * Looks events up by their natural id, which the second-level cache resolves without a query once the event
+ * has been loaded.
+ */
+public class CreateMeetupRepositoryCustomImpl implements CreateMeetupRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CreateMeetup> findByEvent(String event) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(CreateMeetup.class)
+                .loadOptional(event);
+    }
+}
@@ -0,0 +1,30 @@
+package com.womkarescode.microservicemeetup.repository;
+
+import com.womkarescode.microservicemeetup.model.entity.IdempotentRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, String> {
+
+    @Transactional
+    @Modifying
+    @Query( value = " update IdempotentRequest as request set request.responseBody = :responseBody " +
+            " where request.idempotencyKey = :idempotencyKey ")
+    int updateResponse(@Param("idempotencyKey") String idempotencyKey, @Param("responseBody") String responseBody);
+
+    @Transactional
+    @Modifying
+    @Query( value = " delete from IdempotentRequest as request " +
+            " where request.idempotencyKey = :idempotencyKey and request.responseBody is null ")
+    int deleteUnanswered(@Param("idempotencyKey") String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query( value = " delete from IdempotentRequest as request where request.createdAt < :createdAt ")
+    int deleteCreatedBefore(@Param("createdAt") LocalDateTime createdAt);
+}
@@ -1,22 +1,124 @@
 package com.womkarescode.microservicemeetup.repository;
 
+import com.womkarescode.microservicemeetup.model.dto.AttendanceDTO;
+import com.womkarescode.microservicemeetup.model.dto.AttendeeExportDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupHistoryView;
+import com.womkarescode.microservicemeetup.model.dto.MeetupSummaryDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 public interface MeetupRepository extends JpaRepository<Meetup, Long> {
 
-    @Query( value = " select meet from Meetup as meet join meet.registration as regis_meet where regis_meet.registration = :registration or meet.event =:event ")
+    @EntityGraph(attributePaths = {"registration", "eventDetails"})
+    @Query( value = " select meet from Meetup as meet join meet.registration as regis_meet where regis_meet.registration = :registration or meet.event =:event ",
+            countQuery = " select count(meet) from Meetup as meet join meet.registration as regis_meet where regis_meet.registration = :registration or meet.event =:event ")
     Page<Meetup> findByRegistrationOnMeetup(
             @Param("registration") String registration,
             @Param("event") String event,
             Pageable pageable
     );
 
+    @Query( value = " select meet.id from Meetup as meet join meet.registration as regis_meet where regis_meet.registration = :registration and meet.id > :afterId order by meet.id ")
+    List<Long> findIdsByRegistration(@Param("registration") String registration, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query( value = " select meet.id from Meetup as meet join meet.registration as regis_meet where meet.event = :event and meet.id > :afterId order by meet.id ")
+    List<Long> findIdsByEvent(@Param("event") String event, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query( value = " select count(meet) from Meetup as meet join meet.registration as regis_meet where regis_meet.registration = :registration ")
+    long countByRegistration(@Param("registration") String registration);
+
+    @Query( value = " select count(meet) from Meetup as meet join meet.registration as regis_meet where meet.event = :event ")
+    long countByEvent(@Param("event") String event);
+
+    @Query( value = " select count(meet) from Meetup as meet join meet.registration as regis_meet where regis_meet.registration = :registration and meet.event = :event ")
+    long countByRegistrationAndEvent(@Param("registration") String registration, @Param("event") String event);
+
+    boolean existsByRegistrationAndEventDetails(Registration registration, CreateMeetup eventDetails);
+
+    @EntityGraph(attributePaths = {"registration", "eventDetails"})
+    @Query( value = " select meet from Meetup as meet where meet.id in :ids order by meet.id ")
+    List<Meetup> findAllByIdInOrderById(@Param("ids") Collection<Long> ids);
+
+    @Query( value = " select new com.womkarescode.microservicemeetup.model.dto.MeetupSummaryDTO(" +
+            " meet.id, meet.status, meet.meetupDateRegistration, regis_meet.id, regis_meet.registration, regis_meet.name, ev.id, ev.event) " +
+            " from Meetup as meet join meet.registration as regis_meet join meet.eventDetails as ev where meet.id in :ids order by meet.id ")
+    List<MeetupSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints( value = @QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query( value = " select new com.womkarescode.microservicemeetup.model.dto.AttendeeExportDTO(" +
+            " meet.id, regis_meet.registration, regis_meet.name, regis_meet.email, meet.meetupDateRegistration) " +
+            " from Meetup as meet join meet.registration as regis_meet where meet.eventDetails.id = :eventId order by meet.id ")
+    Stream<AttendeeExportDTO> streamAttendeesByEvent(@Param("eventId") Long eventId);
+
+    @Query( value = " select count(meet) from Meetup as meet where meet.eventDetails.id = :eventId and meet.status = :status ")
+    long countByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") MeetupStatus status);
+
+    @Query( value = " select new com.womkarescode.microservicemeetup.model.dto.AttendanceDTO( meet.eventDetails.id, " +
+            " sum(case when meet.status = com.womkarescode.microservicemeetup.model.entity.MeetupStatus.CONFIRMED then 1 else 0 end), " +
+            " sum(case when meet.status = com.womkarescode.microservicemeetup.model.entity.MeetupStatus.WAITLISTED then 1 else 0 end)) " +
+            " from Meetup as meet group by meet.eventDetails.id ")
+    List<AttendanceDTO> countAttendanceByEvent();
+
+    Optional<Meetup> findFirstByEventDetailsAndStatusOrderByIdAsc(CreateMeetup eventDetails, MeetupStatus status);
+
+    @EntityGraph(attributePaths = {"registration", "eventDetails"})
+    @Query( value = " select meet from Meetup as meet where meet.meetupDateRegistration >= :from and meet.meetupDateRegistration <= :to " +
+            " and (meet.meetupDateRegistration > :afterDate or (meet.meetupDateRegistration = :afterDate and meet.id > :afterId)) " +
+            " order by meet.meetupDateRegistration, meet.id ")
+    List<Meetup> findByDateRegistrationBetweenAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                    @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @EntityGraph(attributePaths = {"registration", "eventDetails"})
+    @Query( value = " select meet from Meetup as meet where meet.eventDetails.id = :eventId " +
+            " and meet.meetupDateRegistration >= :from and meet.meetupDateRegistration <= :to " +
+            " and (meet.meetupDateRegistration > :afterDate or (meet.meetupDateRegistration = :afterDate and meet.id > :afterId)) " +
+            " order by meet.meetupDateRegistration, meet.id ")
+    List<Meetup> findByEventIdAndDateRegistrationBetweenAfter(@Param("eventId") Long eventId,
+                                                              @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                              @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                                              Pageable pageable);
+
+    @Query( value = " select count(meet) from Meetup as meet where meet.meetupDateRegistration >= :from and meet.meetupDateRegistration <= :to ")
+    long countByDateRegistrationBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query( value = " select count(meet) from Meetup as meet where meet.eventDetails.id = :eventId " +
+            " and meet.meetupDateRegistration >= :from and meet.meetupDateRegistration <= :to ")
+    long countByEventIdAndDateRegistrationBetween(@Param("eventId") Long eventId,
+                                                  @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query( value = " select meet.id as meetupId, meet.status as status, meet.meetupDateRegistration as meetupDateRegistration, " +
+            " ev.id as eventId, ev.event as event, ev.eventDate as eventDate, ev.hostedBy as hostedBy, ev.linkMeetup as linkMeetup " +
+            " from Meetup as meet join meet.registration as regis_meet join meet.eventDetails as ev " +
+            " where regis_meet.registration = :registration " +
+            " order by meet.meetupDateRegistration desc, meet.id desc ",
+            countQuery = " select count(meet) from Meetup as meet join meet.registration as regis_meet where regis_meet.registration = :registration ")
+    Page<MeetupHistoryView> findHistoryByRegistration(@Param("registration") String registration, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"registration", "eventDetails"})
     Page<Meetup> findByRegistration(Registration registration, Pageable pageable );
 
+    @Override
+    @EntityGraph(attributePaths = {"registration", "eventDetails"})
+    Optional<Meetup> findById(Long id);
+
 }
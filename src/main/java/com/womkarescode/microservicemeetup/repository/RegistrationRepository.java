@@ -1,13 +1,26 @@
 package com.womkarescode.microservicemeetup.repository;
 
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSummaryDTO;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
-public interface RegistrationRepository extends JpaRepository<Registration, Long> {
+public interface RegistrationRepository extends JpaRepository<Registration, Long>, RegistrationRepositoryCustom {
 
     boolean existsByRegistration(String registration);
 
-    Optional <Registration> findByRegistration(String registrationAttribute);
+    @Query( value = " select regis.registration from Registration as regis where regis.registration in :registrations ")
+    List<String> findExistingRegistrations(@Param("registrations") Collection<String> registrations);
+
+    List<Registration> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query( value = " select new com.womkarescode.microservicemeetup.model.dto.RegistrationSummaryDTO(" +
+            " regis.id, regis.name, regis.email, regis.registration, regis.dateOfRegistration) " +
+            " from Registration as regis where regis.id > :afterId order by regis.id ")
+    List<RegistrationSummaryDTO> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
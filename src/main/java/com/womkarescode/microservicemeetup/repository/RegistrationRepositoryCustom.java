@@ -0,0 +1,10 @@
+package com.womkarescode.microservicemeetup.repository;
+
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+
+import java.util.Optional;
+
+public interface RegistrationRepositoryCustom {
+
+    Optional<Registration> findByRegistration(String registration);
+}
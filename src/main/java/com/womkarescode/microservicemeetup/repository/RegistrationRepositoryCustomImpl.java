@@ -0,0 +1,23 @@
+package com.womkarescode.microservicemeetup.repository;
+
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+public class RegistrationRepositoryCustomImpl implements RegistrationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Registration> findByRegistration(String registration) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Registration.class)
+                .loadOptional(registration);
+    }
+}
@@ -0,0 +1,31 @@
+package com.womkarescode.microservicemeetup.search;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import org.springframework.stereotype.Component;
+
+import static com.womkarescode.microservicemeetup.search.InvertedIndex.field;
+
+@Component
+public class EventSearchIndex {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    public void index(CreateMeetup event) {
+        index.put(event.getId(),
+                field(event.getEvent(), 3f),
+                field(event.getGuestSpeaker(), 2f),
+                field(event.getHostedBy(), 2f));
+    }
+
+    public void remove(Long id) {
+        index.remove(id);
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,174 @@
+package com.womkarescode.microservicemeetup.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Term to document postings over case-folded, accent-stripped tokens. Terms are kept sorted so every query
+ * token also matches as a prefix ("micro" finds "microservice"); a document must match all query tokens and
+ * is ranked by the weights of the fields the tokens were found in, exact matches counting twice a prefix.
+ */
+public class InvertedIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+
+    /**
+     * Lower case, accents stripped and every run of other characters than letters and digits collapsed into
+     * a single blank; the one normalization shared by the search indexes.
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokenize(String text) {
+        String folded = fold(text);
+        if (folded.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(folded.split(" "));
+    }
+
+    public static IndexedField field(String text, float weight) {
+        return new IndexedField(text, weight);
+    }
+
+    public void put(Long id, IndexedField... fields) {
+        Map<String, Float> terms = new HashMap<>();
+        for (IndexedField field : fields) {
+            for (String token : tokenize(field.text)) {
+                terms.merge(token, field.weight, Float::sum);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removePostings(id);
+            if (terms.isEmpty()) {
+                return;
+            }
+            documents.put(id, terms);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removePostings(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return SearchResult.EMPTY;
+        }
+
+        Map<Long, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                Map<Long, Float> termScores = score(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return SearchResult.EMPTY;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry::getKey));
+        List<Long> ids = new ArrayList<>();
+        for (int i = offset; i < ranked.size() && ids.size() < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return new SearchResult(ids, ranked.size());
+    }
+
+    private Map<Long, Float> score(String term) {
+        Map<Long, Float> termScores = new HashMap<>();
+        // Every indexed term starting with the query term; the exact term itself is the first entry.
+        for (Map.Entry<String, Map<Long, Float>> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            float factor = entry.getKey().equals(term) ? 1f : PREFIX_FACTOR;
+            entry.getValue().forEach((id, weight) -> termScores.merge(id, weight * factor, Math::max));
+        }
+        return termScores;
+    }
+
+    private void removePostings(Long id) {
+        Map<String, Float> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    public static final class IndexedField {
+
+        private final String text;
+
+        private final float weight;
+
+        private IndexedField(String text, float weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+}
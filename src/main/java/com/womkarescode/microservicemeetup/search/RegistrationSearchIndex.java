@@ -0,0 +1,49 @@
+package com.womkarescode.microservicemeetup.search;
+
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSuggestionDTO;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.womkarescode.microservicemeetup.search.InvertedIndex.field;
+
+@Component
+public class RegistrationSearchIndex {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    private final TrigramIndex<RegistrationSuggestionDTO> typeahead = new TrigramIndex<>();
+
+    public void index(Registration registration) {
+        index.put(registration.getId(),
+                field(registration.getName(), 2f),
+                field(registration.getEmail(), 1f));
+        typeahead.put(registration.getId(),
+                RegistrationSuggestionDTO.builder()
+                        .id(registration.getId())
+                        .registration(registration.getRegistration())
+                        .name(registration.getName())
+                        .email(registration.getEmail())
+                        .build(),
+                registration.getName(),
+                registration.getEmail());
+    }
+
+    public void remove(Long id) {
+        index.remove(id);
+        typeahead.remove(id);
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    public List<RegistrationSuggestionDTO> typeahead(String query, int limit) {
+        return typeahead.search(query, limit);
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.womkarescode.microservicemeetup.search;
+
+import com.womkarescode.microservicemeetup.datasource.PrimaryReads;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.repository.CreateMeetupRepository;
+import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds the search indexes from the database once at startup; the services keep them current afterwards.
+ */
+@Slf4j
+@Component
+public class SearchIndexLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final Long FIRST_ID = 0L;
+
+    private final CreateMeetupRepository createMeetupRepository;
+
+    private final RegistrationRepository registrationRepository;
+
+    private final EventSearchIndex eventSearchIndex;
+
+    private final RegistrationSearchIndex registrationSearchIndex;
+
+    public SearchIndexLoader(CreateMeetupRepository createMeetupRepository,
+                             RegistrationRepository registrationRepository,
+                             EventSearchIndex eventSearchIndex,
+                             RegistrationSearchIndex registrationSearchIndex) {
+        this.createMeetupRepository = createMeetupRepository;
+        this.registrationRepository = registrationRepository;
+        this.eventSearchIndex = eventSearchIndex;
+        this.registrationSearchIndex = registrationSearchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        PrimaryReads.run(this::loadAll);
+    }
+
+    private void loadAll() {
+        Long afterId = FIRST_ID;
+        List<CreateMeetup> events;
+        while (!(events = createMeetupRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            events.forEach(eventSearchIndex::index);
+            afterId = events.get(events.size() - 1).getId();
+        }
+
+        afterId = FIRST_ID;
+        List<Registration> registrations;
+        while (!(registrations = registrationRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            registrations.forEach(registrationSearchIndex::index);
+            afterId = registrations.get(registrations.size() - 1).getId();
+        }
+        log.info("Search indexes loaded with {} events and {} registrations",
+                eventSearchIndex.size(), registrationSearchIndex.size());
+    }
+}
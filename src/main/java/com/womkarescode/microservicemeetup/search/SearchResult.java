@@ -0,0 +1,47 @@
+package com.womkarescode.microservicemeetup.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class SearchResult {
+
+    public static final SearchResult EMPTY = new SearchResult(Collections.emptyList(), 0);
+
+    private final List<Long> ids;
+
+    private final long total;
+
+    public SearchResult(List<Long> ids, long total) {
+        this.ids = ids;
+        this.total = total;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Puts rows loaded by id back in rank order, skipping ids whose row was deleted after the search.
+     */
+    public <T> List<T> inRankOrder(Collection<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(idOf.apply(row), row));
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+}
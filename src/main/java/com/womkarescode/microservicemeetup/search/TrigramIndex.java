@@ -0,0 +1,248 @@
+package com.womkarescode.microservicemeetup.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Substring lookup for typeahead: every indexed text is split into overlapping three-character windows and
+ * each window keeps the sorted list of entries containing it. A query is answered by intersecting the lists
+ * of its own windows, starting from the rarest, and checking the few survivors against the text, so the
+ * cost follows the number of candidates instead of the number of entries.
+ *
+ * Texts are padded with two leading blanks, so a one character query matches the start of a text and a two
+ * character query the start of any word. Entries live at increasing ordinals; updates append a new ordinal
+ * and leave a tombstone that is compacted away once tombstones outnumber live entries.
+ */
+public class TrigramIndex<T> {
+
+    private static final String PADDING = "  ";
+
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private static final int STARTS_TEXT = 0;
+
+    private static final int STARTS_WORD = 1;
+
+    private static final int CONTAINS = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+
+    private final List<T> values = new ArrayList<>();
+
+    private final List<String[]> texts = new ArrayList<>();
+
+    private int tombstones;
+
+    public void put(Long id, T value, String... indexedTexts) {
+        String[] folded = new String[indexedTexts.length];
+        for (int i = 0; i < indexedTexts.length; i++) {
+            folded[i] = InvertedIndex.fold(indexedTexts[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+            int ordinal = values.size();
+            values.add(value);
+            texts.add(folded);
+            ordinalById.put(id, ordinal);
+            Set<Long> trigrams = new HashSet<>();
+            for (String text : folded) {
+                addTrigrams(PADDING + text, trigrams);
+            }
+            trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, key -> new Postings()).add(ordinal));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entries whose texts contain the query: those whose first text starts with it come first, then those
+     * with a word starting with it, then any other substring match, each group in indexing order. Each group
+     * is looked up with the windows that anchor it, so a later group is only read when the earlier ones
+     * leave room and the lookup stops as soon as the limit is filled.
+     */
+    public List<T> search(String query, int limit) {
+        String folded = InvertedIndex.fold(query);
+        if (folded.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+        List<Set<Long>> anchors = Arrays.asList(
+                trigrams(PADDING + folded),
+                trigrams(folded.length() < 2 ? PADDING + folded : " " + folded),
+                folded.length() < 3 ? Collections.emptySet() : trigrams(folded));
+
+        List<T> result = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            for (int group = STARTS_TEXT; group <= CONTAINS && result.size() < limit; group++) {
+                collect(anchors.get(group), folded, group, result, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void collect(Set<Long> queryTrigrams, String query, int group, List<T> result, int limit) {
+        if (queryTrigrams.isEmpty()) {
+            return;
+        }
+        List<Postings> lists = new ArrayList<>(queryTrigrams.size());
+        for (Long trigram : queryTrigrams) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort((first, second) -> Integer.compare(first.size, second.size));
+
+        Postings rarest = lists.get(0);
+        candidates:
+        for (int i = 0; i < rarest.size && result.size() < limit; i++) {
+            int ordinal = rarest.ordinals[i];
+            T value = values.get(ordinal);
+            if (value == null) {
+                continue;
+            }
+            for (int other = 1; other < lists.size(); other++) {
+                if (!lists.get(other).contains(ordinal)) {
+                    continue candidates;
+                }
+            }
+            if (match(texts.get(ordinal), query) == group) {
+                result.add(value);
+            }
+        }
+    }
+
+    private static int match(String[] texts, String query) {
+        int best = -1;
+        for (int i = 0; i < texts.length; i++) {
+            String text = texts[i];
+            int at = text.indexOf(query);
+            while (at >= 0) {
+                int group = at == 0 ? (i == 0 ? STARTS_TEXT : STARTS_WORD)
+                        : text.charAt(at - 1) == ' ' ? STARTS_WORD : CONTAINS;
+                if (best < 0 || group < best) {
+                    best = group;
+                }
+                if (best == STARTS_TEXT || group == STARTS_WORD) {
+                    break;
+                }
+                at = text.indexOf(query, at + 1);
+            }
+        }
+        return best;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        addTrigrams(text, trigrams);
+        return trigrams;
+    }
+
+    private static void addTrigrams(String text, Set<Long> trigrams) {
+        for (int i = 2; i < text.length(); i++) {
+            trigrams.add(trigram(text, i));
+        }
+    }
+
+    private static long trigram(String text, int end) {
+        return ((long) text.charAt(end - 2) << 32) | ((long) text.charAt(end - 1) << 16) | text.charAt(end);
+    }
+
+    private void removeEntry(Long id) {
+        Integer previous = ordinalById.remove(id);
+        if (previous != null) {
+            values.set(previous, null);
+            texts.set(previous, null);
+            tombstones++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones < MIN_TOMBSTONES_TO_COMPACT || tombstones < ordinalById.size()) {
+            return;
+        }
+        List<T> liveValues = new ArrayList<>(ordinalById.size());
+        List<String[]> liveTexts = new ArrayList<>(ordinalById.size());
+        Map<Long, Integer> liveOrdinals = new HashMap<>();
+        ordinalById.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> {
+                    liveOrdinals.put(entry.getKey(), liveValues.size());
+                    liveValues.add(values.get(entry.getValue()));
+                    liveTexts.add(texts.get(entry.getValue()));
+                });
+        values.clear();
+        texts.clear();
+        ordinalById.clear();
+        postings.clear();
+        tombstones = 0;
+        values.addAll(liveValues);
+        texts.addAll(liveTexts);
+        ordinalById.putAll(liveOrdinals);
+        for (int ordinal = 0; ordinal < texts.size(); ordinal++) {
+            Set<Long> trigrams = new HashSet<>();
+            for (String text : texts.get(ordinal)) {
+                addTrigrams(PADDING + text, trigrams);
+            }
+            int current = ordinal;
+            trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, key -> new Postings()).add(current));
+        }
+    }
+
+    /**
+     * Growable sorted int array; ordinals are only ever appended in increasing order.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        private boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+    }
+}
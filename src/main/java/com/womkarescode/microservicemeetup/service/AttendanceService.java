@@ -0,0 +1,20 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.dto.AttendanceDTO;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AttendanceService {
+
+    long getAttendees(Long eventId);
+
+    long getWaitlisted(Long eventId);
+
+    List<AttendanceDTO> getAttendance(Collection<Long> eventIds);
+
+    void record(Long eventId, MeetupStatus status, long delta);
+
+    void reconcile();
+}
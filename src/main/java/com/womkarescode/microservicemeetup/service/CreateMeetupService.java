@@ -1,9 +1,13 @@
 package com.womkarescode.microservicemeetup.service;
 
+import com.womkarescode.microservicemeetup.model.dto.CreateMeetupSummaryDTO;
+import com.womkarescode.microservicemeetup.model.dto.DateCursorDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface CreateMeetupService {
@@ -19,4 +23,18 @@ public interface CreateMeetupService {
     void deleteEventMeetup(CreateMeetup eventMeetup);
 
     Page<CreateMeetup> findAllEventMeetup(CreateMeetup filter, Pageable pageRequest);
+
+    Page<CreateMeetup> searchEventMeetup(String query, Pageable pageRequest);
+
+    List<CreateMeetup> findAllEventMeetupAfter(Long afterId, int limit);
+
+    List<CreateMeetupSummaryDTO> findEventSummariesAfter(Long afterId, int limit);
+
+    long countEventMeetup();
+
+    List<CreateMeetup> findEventMeetupBetween(LocalDate from, LocalDate to, DateCursorDTO after, int limit);
+
+    List<CreateMeetup> findEventMeetupBetweenNewestFirst(LocalDate from, LocalDate to, DateCursorDTO before, int limit);
+
+    long countEventMeetupBetween(LocalDate from, LocalDate to);
 }
@@ -0,0 +1,19 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.entity.IdempotentRequest;
+
+import java.util.Optional;
+
+public interface IdempotencyService {
+
+    /**
+     * Claims the key for a request. Empty when the caller now holds the claim and must either store its response
+     * or release the claim; otherwise the request stored under the key, whose response is still null while the
+     * request holding the claim is running.
+     */
+    Optional<IdempotentRequest> claim(String idempotencyKey, String requestFingerprint);
+
+    void storeResponse(String idempotencyKey, String responseBody);
+
+    void release(String idempotencyKey);
+}
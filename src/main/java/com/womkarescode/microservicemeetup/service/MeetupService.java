@@ -1,23 +1,51 @@
 package com.womkarescode.microservicemeetup.service;
 
 
+import com.womkarescode.microservicemeetup.model.dto.AttendeeExportDTO;
+import com.womkarescode.microservicemeetup.model.dto.DateCursorDTO;
 import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupHistoryView;
+import com.womkarescode.microservicemeetup.model.dto.MeetupSummaryDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface MeetupService {
 
     Meetup save(Meetup meetup);
 
+    List<Meetup> saveAll(List<Meetup> meetups);
+
     Optional<Meetup> getById(Long id);
 
+    boolean isEnrolled(Registration registration, CreateMeetup event);
+
     Meetup update(Meetup newMeetup);
 
+    void cancel(Meetup meetup);
+
     Page<Meetup> findAll(MeetupFilterDTO filterDTO, Pageable pageable);
 
+    List<Meetup> findAllAfter(MeetupFilterDTO filterDTO, Long afterId, int limit);
+
+    List<MeetupSummaryDTO> findSummariesAfter(MeetupFilterDTO filterDTO, Long afterId, int limit);
+
+    long count(MeetupFilterDTO filterDTO);
+
+    List<Meetup> findAllRegisteredBetween(Long eventId, LocalDate from, LocalDate to, DateCursorDTO after, int limit);
+
+    long countRegisteredBetween(Long eventId, LocalDate from, LocalDate to);
+
     Page<Meetup> getRegistrationsByMeetup(Registration registration, Pageable pageable);
+
+    Page<MeetupHistoryView> getHistoryByRegistration(String registration, Pageable pageable);
+
+    void exportAttendees(Long eventId, Consumer<AttendeeExportDTO> consumer);
 }
@@ -0,0 +1,17 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReadService {
+
+    Mono<CreateMeetup> getEventById(Long id);
+
+    Mono<Registration> getRegistrationById(Long id);
+
+    Flux<Meetup> findAll(MeetupFilterDTO filterDTO, Long afterId, int pageSize);
+}
@@ -1,15 +1,20 @@
 package com.womkarescode.microservicemeetup.service;
 
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSuggestionDTO;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSummaryDTO;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RegistrationService {
 
     Registration save (Registration any);
 
+    List<Registration> saveAll(List<Registration> registrations);
+
     Optional<Registration> getRegistrationById(Long id);
 
     Registration update(Registration registration);
@@ -18,6 +23,16 @@ public interface RegistrationService {
 
     Page<Registration> find(Registration filter, Pageable pageRequest);
 
+    Page<Registration> search(String query, Pageable pageRequest);
+
+    List<RegistrationSuggestionDTO> typeahead(String query, int limit);
+
+    List<Registration> findAfter(Long afterId, int limit);
+
+    List<RegistrationSummaryDTO> findSummariesAfter(Long afterId, int limit);
+
+    long count();
+
     Optional<Registration> getRegistrationByRegistrationAttribute(String registrationAttribute);
 
     Optional<Registration> getByRegistration(String registrationAttribute);
@@ -0,0 +1,18 @@
+package com.womkarescode.microservicemeetup.service;
+
+public interface SeatReservation {
+
+    SeatReservation UNLIMITED = new SeatReservation() {
+        @Override
+        public void confirm() {
+        }
+
+        @Override
+        public void release() {
+        }
+    };
+
+    void confirm();
+
+    void release();
+}
@@ -0,0 +1,16 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+
+import java.util.Optional;
+
+public interface SeatReservationService {
+
+    Optional<SeatReservation> tryReserve(CreateMeetup event);
+
+    void free(CreateMeetup event);
+
+    void reset(CreateMeetup event);
+
+    void forget(Long eventId);
+}
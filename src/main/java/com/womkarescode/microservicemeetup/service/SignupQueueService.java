@@ -0,0 +1,13 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.dto.SignupStatusDTO;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+
+import java.util.Optional;
+
+public interface SignupQueueService {
+
+    Optional<SignupStatusDTO> submit(Meetup meetup);
+
+    Optional<SignupStatusDTO> getStatus(String id);
+}
@@ -0,0 +1,48 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs in-memory side effects (search index, counters, seats) only once the change is visible in the database:
+ * after the surrounding transaction commits, or right away when the repository call already committed.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Like {@link #run(Runnable)}, but runs {@code onRollback} instead when the transaction rolls back. An unknown
+     * outcome counts as committed, so a held seat is kept rather than handed out twice.
+     */
+    static void run(Runnable action, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    onRollback.run();
+                } else {
+                    action.run();
+                }
+            }
+        });
+    }
+}
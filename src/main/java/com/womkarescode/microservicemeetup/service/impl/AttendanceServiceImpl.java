@@ -0,0 +1,125 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import com.womkarescode.microservicemeetup.datasource.PrimaryReads;
+import com.womkarescode.microservicemeetup.model.dto.AttendanceDTO;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.service.AttendanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps "N people going" per event in memory so reading it never hits the database. Sign-ups and cancels
+ * adjust the counters after commit. The periodic reconcile recounts from the table and then swaps in the new
+ * counts plus every change recorded since the recount started, so changes racing with it are not lost.
+ */
+@Slf4j
+@Service
+public class AttendanceServiceImpl implements AttendanceService {
+
+    private final ConcurrentMap<Long, Counters> counters = new ConcurrentHashMap<>();
+
+    private final MeetupRepository meetupRepository;
+
+    // Changes recorded while a reconcile is counting; null when no reconcile runs.
+    private volatile ConcurrentMap<Long, Counters> sinceRecount;
+
+    public AttendanceServiceImpl(MeetupRepository meetupRepository) {
+        this.meetupRepository = meetupRepository;
+    }
+
+    @Override
+    public long getAttendees(Long eventId) {
+        Counters current = counters.get(eventId);
+        return current == null ? 0 : current.confirmed;
+    }
+
+    @Override
+    public long getWaitlisted(Long eventId) {
+        Counters current = counters.get(eventId);
+        return current == null ? 0 : current.waitlisted;
+    }
+
+    @Override
+    public List<AttendanceDTO> getAttendance(Collection<Long> eventIds) {
+        return eventIds.stream()
+                .map(eventId -> new AttendanceDTO(eventId, getAttendees(eventId), getWaitlisted(eventId)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void record(Long eventId, MeetupStatus status, long delta) {
+        if (eventId == null || status == null) {
+            return;
+        }
+        Counters change = Counters.of(status, delta);
+        // Journaling inside compute orders each change before or after the reconcile's swap of the same event.
+        counters.compute(eventId, (id, current) -> {
+            ConcurrentMap<Long, Counters> journal = sinceRecount;
+            if (journal != null) {
+                journal.merge(id, change, Counters::plus);
+            }
+            return current == null ? change : current.plus(change);
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${meetup.attendance.reconcile-interval:PT5M}",
+            initialDelayString = "${meetup.attendance.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        ConcurrentMap<Long, Counters> journal = new ConcurrentHashMap<>();
+        sinceRecount = journal;
+        try {
+            List<AttendanceDTO> counted = PrimaryReads.call(meetupRepository::countAttendanceByEvent);
+            Set<Long> eventIds = new HashSet<>();
+            for (AttendanceDTO attendance : counted) {
+                Counters recounted = new Counters(attendance.getAttendees(), attendance.getWaitlisted());
+                counters.compute(attendance.getEventId(), (id, current) -> {
+                    Counters recorded = journal.get(id);
+                    return recorded == null ? recounted : recounted.plus(recorded);
+                });
+                eventIds.add(attendance.getEventId());
+            }
+            for (Long eventId : counters.keySet()) {
+                if (!eventIds.contains(eventId)) {
+                    counters.compute(eventId, (id, current) -> journal.get(id));
+                }
+            }
+            log.debug("Attendance counters reconciled for {} events", eventIds.size());
+        } finally {
+            sinceRecount = null;
+        }
+    }
+
+    private static final class Counters {
+
+        private final long confirmed;
+
+        private final long waitlisted;
+
+        private Counters(long confirmed, long waitlisted) {
+            this.confirmed = confirmed;
+            this.waitlisted = waitlisted;
+        }
+
+        private static Counters of(MeetupStatus status, long delta) {
+            return status == MeetupStatus.CONFIRMED ? new Counters(delta, 0) : new Counters(0, delta);
+        }
+
+        private Counters plus(Counters other) {
+            return new Counters(confirmed + other.confirmed, waitlisted + other.waitlisted);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Tells a duplicate key apart from the other integrity violations a flush can raise (not null, foreign keys,
+ * column sizes), so only the former is reported as "already created" and the rest surface unchanged.
+ */
+final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * Whether a unique or primary key was violated, by the SQL state H2 and PostgreSQL both report for it.
+     */
+    static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && UNIQUE_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether {@code constraint} is the one violated. Databases report the name with their own casing and
+     * decoration (H2 appends the index and the values), so it is matched case-insensitively as a substring.
+     */
+    static boolean isViolated(DataIntegrityViolationException e, String constraint) {
+        String expected = constraint.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String reported = cause instanceof ConstraintViolationException
+                    ? ((ConstraintViolationException) cause).getConstraintName()
+                    : cause.getMessage();
+            if (reported != null && reported.toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
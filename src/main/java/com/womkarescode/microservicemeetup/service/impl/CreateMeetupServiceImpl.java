@@ -1,32 +1,60 @@
 package com.womkarescode.microservicemeetup.service.impl;
 
 import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.CreateMeetupSummaryDTO;
+import com.womkarescode.microservicemeetup.model.dto.DateCursorDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.repository.CreateMeetupRepository;
+import com.womkarescode.microservicemeetup.search.EventSearchIndex;
+import com.womkarescode.microservicemeetup.search.SearchResult;
 import com.womkarescode.microservicemeetup.service.CreateMeetupService;
+import com.womkarescode.microservicemeetup.service.SeatReservationService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class CreateMeetupServiceImpl implements CreateMeetupService {
 
     private CreateMeetupRepository repository;
 
-    public CreateMeetupServiceImpl(CreateMeetupRepository repository) {
+    private SeatReservationService seatReservationService;
+
+    private EventSearchIndex eventSearchIndex;
+
+    public CreateMeetupServiceImpl(CreateMeetupRepository repository,
+                                   SeatReservationService seatReservationService,
+                                   EventSearchIndex eventSearchIndex) {
         this.repository = repository;
+        this.seatReservationService = seatReservationService;
+        this.eventSearchIndex = eventSearchIndex;
     }
 
     @Override
+    @Transactional
     public CreateMeetup saveNewEventMeetup(CreateMeetup createEvent) {
-        if(repository.findByEvent(createEvent.getEvent()).isPresent()){
-            throw new BusinessException("Event already created");
+        CreateMeetup saved;
+        try {
+            saved = repository.saveAndFlush(createEvent);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolated(e, CreateMeetup.UK_EVENT)) {
+                throw new BusinessException("Event already created");
+            }
+            throw e;
         }
-        return repository.save(createEvent);
+        AfterCommit.run(() -> eventSearchIndex.index(saved));
+        return saved;
     }
 
     @Override
@@ -40,19 +68,31 @@ public class CreateMeetupServiceImpl implements CreateMeetupService {
     }
 
     @Override
+    @Transactional
     public CreateMeetup updateEventMeetup(CreateMeetup event) {
         if(event == null || event.getId() == null){
             throw new IllegalArgumentException("Event id must not be null");
         }
-        return repository.save(event);
+        CreateMeetup updated = repository.save(event);
+        // Reseeding before the commit could rebuild the seats from a capacity that is then rolled back.
+        AfterCommit.run(() -> {
+            seatReservationService.reset(updated);
+            eventSearchIndex.index(updated);
+        });
+        return updated;
     }
 
     @Override
+    @Transactional
     public void deleteEventMeetup(CreateMeetup eventMeetup) {
         if(repository.findByEvent(eventMeetup.getEvent()).isEmpty()){
             throw new IllegalArgumentException("Event id must exist");
         }
          repository.delete(eventMeetup);
+         AfterCommit.run(() -> {
+             seatReservationService.forget(eventMeetup.getId());
+             eventSearchIndex.remove(eventMeetup.getId());
+         });
     }
 
     @Override
@@ -66,4 +106,54 @@ public class CreateMeetupServiceImpl implements CreateMeetupService {
         ) ;
         return repository.findAll(example, pageRequest);
     }
+
+    @Override
+    public Page<CreateMeetup> searchEventMeetup(String query, Pageable pageRequest) {
+        SearchResult result = eventSearchIndex.search(query, (int) pageRequest.getOffset(), pageRequest.getPageSize());
+        List<CreateMeetup> content = result.getIds().isEmpty()
+                ? List.of()
+                : result.inRankOrder(repository.findAllById(result.getIds()), CreateMeetup::getId);
+        return new PageImpl<>(content, pageRequest, result.getTotal());
+    }
+
+    @Override
+    public List<CreateMeetup> findAllEventMeetupAfter(Long afterId, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<CreateMeetupSummaryDTO> findEventSummariesAfter(Long afterId, int limit) {
+        return repository.findSummariesAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public long countEventMeetup() {
+        return repository.count();
+    }
+
+    @Override
+    public List<CreateMeetup> findEventMeetupBetween(LocalDate from, LocalDate to, DateCursorDTO after, int limit) {
+        checkDateRange(from, to);
+        DateCursorDTO cursor = after == null ? new DateCursorDTO(from, 0L) : after;
+        return repository.findByEventDateBetweenAfter(from, to, cursor.getDate(), cursor.getId(), PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<CreateMeetup> findEventMeetupBetweenNewestFirst(LocalDate from, LocalDate to, DateCursorDTO before, int limit) {
+        checkDateRange(from, to);
+        DateCursorDTO cursor = before == null ? new DateCursorDTO(to, Long.MAX_VALUE) : before;
+        return repository.findByEventDateBetweenBefore(from, to, cursor.getDate(), cursor.getId(), PageRequest.of(0, limit));
+    }
+
+    @Override
+    public long countEventMeetupBetween(LocalDate from, LocalDate to) {
+        checkDateRange(from, to);
+        return repository.countByEventDateBetween(from, to);
+    }
+
+    private static void checkDateRange(LocalDate from, LocalDate to) {
+        if(from.isAfter(to)){
+            throw new BusinessException("Invalid date range");
+        }
+    }
 }
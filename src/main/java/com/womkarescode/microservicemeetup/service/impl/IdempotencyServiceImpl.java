@@ -0,0 +1,81 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import com.womkarescode.microservicemeetup.datasource.PrimaryReads;
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.entity.IdempotentRequest;
+import com.womkarescode.microservicemeetup.repository.IdempotentRequestRepository;
+import com.womkarescode.microservicemeetup.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private IdempotentRequestRepository repository;
+
+    private Duration retention;
+
+    public IdempotencyServiceImpl(IdempotentRequestRepository repository,
+                                  @Value("${meetup.idempotency.retention:PT24H}") Duration retention) {
+        this.repository = repository;
+        this.retention = retention;
+    }
+
+    @Override
+    public Optional<IdempotentRequest> claim(String idempotencyKey, String requestFingerprint) {
+        if(idempotencyKey.isEmpty() || idempotencyKey.length() > IdempotentRequest.KEY_LENGTH){
+            throw new BusinessException("Idempotency-Key must have between 1 and " + IdempotentRequest.KEY_LENGTH + " characters");
+        }
+        Optional<IdempotentRequest> stored = find(idempotencyKey, requestFingerprint);
+        if(stored.isPresent()){
+            return stored;
+        }
+        IdempotentRequest claimed = IdempotentRequest.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestFingerprint(requestFingerprint)
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            repository.saveAndFlush(claimed);
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            if(!ConstraintViolations.isUniqueViolation(e)){
+                throw e;
+            }
+            // A concurrent request with the same key claimed it first. If it has already released the claim again,
+            // report the key as still in use rather than racing for it a second time; the client retries.
+            return Optional.of(find(idempotencyKey, requestFingerprint).orElse(claimed));
+        }
+    }
+
+    @Override
+    public void storeResponse(String idempotencyKey, String responseBody) {
+        repository.updateResponse(idempotencyKey, responseBody);
+    }
+
+    @Override
+    public void release(String idempotencyKey) {
+        repository.deleteUnanswered(idempotencyKey);
+    }
+
+    private Optional<IdempotentRequest> find(String idempotencyKey, String requestFingerprint) {
+        // Read from the primary: a lagging replica would miss a claim that was just inserted.
+        return PrimaryReads.call(() -> repository.findById(idempotencyKey)).map(request -> {
+            if(!request.getRequestFingerprint().equals(requestFingerprint)){
+                throw new BusinessException("Idempotency-Key already used for a different request");
+            }
+            return request;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${meetup.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+}
@@ -1,28 +1,105 @@
 package com.womkarescode.microservicemeetup.service.impl;
 
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.AttendeeExportDTO;
+import com.womkarescode.microservicemeetup.model.dto.DateCursorDTO;
 import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupHistoryView;
+import com.womkarescode.microservicemeetup.model.dto.MeetupSummaryDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.service.AttendanceService;
 import com.womkarescode.microservicemeetup.service.MeetupService;
+import com.womkarescode.microservicemeetup.service.SeatReservation;
+import com.womkarescode.microservicemeetup.service.SeatReservationService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 public class MeetupServiceImpl implements MeetupService {
 
+    private static final Long FIRST_ID = 0L;
+
+    private static final long MERGE_MAX_OFFSET = 1000;
+
     private MeetupRepository repository;
 
-    public MeetupServiceImpl(MeetupRepository repository) {
+    private SeatReservationService seatReservationService;
+
+    private AttendanceService attendanceService;
+
+    public MeetupServiceImpl(MeetupRepository repository,
+                             SeatReservationService seatReservationService,
+                             AttendanceService attendanceService) {
         this.repository = repository;
+        this.seatReservationService = seatReservationService;
+        this.attendanceService = attendanceService;
     }
 
     @Override
+    @Transactional
     public Meetup save(Meetup meetup) {
-        return repository.save(meetup);
+        Optional<SeatReservation> seat = seatReservationService.tryReserve(meetup.getEventDetails());
+        meetup.setStatus(seat.isPresent() ? MeetupStatus.CONFIRMED : MeetupStatus.WAITLISTED);
+        Meetup saved;
+        try {
+            saved = repository.saveAndFlush(meetup);
+        } catch (RuntimeException e) {
+            seat.ifPresent(SeatReservation::release);
+            if (e instanceof DataIntegrityViolationException
+                    && ConstraintViolations.isViolated((DataIntegrityViolationException) e, Meetup.UK_REGISTRATION_EVENT)) {
+                throw new BusinessException("Meetup already enrolled");
+            }
+            throw e;
+        }
+        seat.ifPresent(MeetupServiceImpl::confirmAfterCommit);
+        recordAfterCommit(meetup, 1);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Meetup> saveAll(List<Meetup> meetups) {
+        List<Optional<SeatReservation>> seats = new ArrayList<>(meetups.size());
+        for (Meetup meetup : meetups) {
+            Optional<SeatReservation> seat = seatReservationService.tryReserve(meetup.getEventDetails());
+            meetup.setStatus(seat.isPresent() ? MeetupStatus.CONFIRMED : MeetupStatus.WAITLISTED);
+            seats.add(seat);
+        }
+        List<Meetup> saved;
+        try {
+            saved = repository.saveAllAndFlush(meetups);
+        } catch (RuntimeException e) {
+            seats.forEach(seat -> seat.ifPresent(SeatReservation::release));
+            // The whole batch was rolled back, so the ids handed out by the sequence are not in the table.
+            meetups.forEach(meetup -> meetup.setId(null));
+            if (e instanceof DataIntegrityViolationException
+                    && ConstraintViolations.isViolated((DataIntegrityViolationException) e, Meetup.UK_REGISTRATION_EVENT)) {
+                throw new BusinessException("Meetup already enrolled");
+            }
+            throw e;
+        }
+        seats.forEach(seat -> seat.ifPresent(MeetupServiceImpl::confirmAfterCommit));
+        meetups.forEach(meetup -> recordAfterCommit(meetup, 1));
+        return saved;
     }
 
     @Override
@@ -31,17 +108,206 @@ public class MeetupServiceImpl implements MeetupService {
     }
 
     @Override
+    public boolean isEnrolled(Registration registration, CreateMeetup event) {
+        return repository.existsByRegistrationAndEventDetails(registration, event);
+    }
+
+    @Override
+    @Transactional
     public Meetup update(Meetup newMeetup) {
         return  repository.save(newMeetup);
     }
 
+    @Override
+    @Transactional
+    public void cancel(Meetup meetup) {
+        repository.delete(meetup);
+        recordAfterCommit(meetup, -1);
+        if (meetup.getStatus() != MeetupStatus.CONFIRMED) {
+            return;
+        }
+        CreateMeetup event = meetup.getEventDetails();
+        // The oldest waitlisted sign-up takes over the cancelled seat, so the inventory only changes when
+        // nobody is waiting and the cancel has committed.
+        Optional<Meetup> waitlisted = repository.findFirstByEventDetailsAndStatusOrderByIdAsc(event, MeetupStatus.WAITLISTED);
+        if (waitlisted.isPresent()) {
+            promote(waitlisted.get());
+        } else {
+            AfterCommit.run(() -> seatReservationService.free(event));
+        }
+    }
+
+    private void promote(Meetup waitlisted) {
+        waitlisted.setStatus(MeetupStatus.CONFIRMED);
+        repository.saveAndFlush(waitlisted);
+        Long eventId = waitlisted.getEventDetails().getId();
+        AfterCommit.run(() -> {
+            attendanceService.record(eventId, MeetupStatus.WAITLISTED, -1);
+            attendanceService.record(eventId, MeetupStatus.CONFIRMED, 1);
+        });
+    }
+
+    private static void confirmAfterCommit(SeatReservation seat) {
+        AfterCommit.run(seat::confirm, seat::release);
+    }
+
+    private void recordAfterCommit(Meetup meetup, long delta) {
+        Long eventId = meetup.getEventDetails() == null ? null : meetup.getEventDetails().getId();
+        MeetupStatus status = meetup.getStatus();
+        AfterCommit.run(() -> attendanceService.record(eventId, status, delta));
+    }
+
     @Override
     public Page<Meetup> findAll(MeetupFilterDTO filterDTO, Pageable pageable) {
-        return repository.findByRegistrationOnMeetup(filterDTO.getRegistration(),filterDTO.getEvent(),pageable);
+        String registration = filterDTO.getRegistration();
+        String event = filterDTO.getEvent();
+        if(registration == null && event == null){
+            return Page.empty(pageable);
+        }
+        if(!isMergeable(pageable)){
+            return repository.findByRegistrationOnMeetup(registration, event, pageable);
+        }
+
+        // Each predicate is resolved by its own index-backed id query; the two sorted id lists are then
+        // merged, so no query ever has to evaluate "registration = ? or event = ?" over the join.
+        Pageable firstRows = pageable.isPaged()
+                ? PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()))
+                : Pageable.unpaged();
+        List<Long> byRegistration = registration == null
+                ? Collections.emptyList()
+                : repository.findIdsByRegistration(registration, FIRST_ID, firstRows);
+        List<Long> byEvent = event == null
+                ? Collections.emptyList()
+                : repository.findIdsByEvent(event, FIRST_ID, firstRows);
+
+        List<Long> merged = mergeSortedIds(byRegistration, byEvent);
+        List<Long> pageIds = pageable.isPaged()
+                ? merged.subList(
+                        (int) Math.min(pageable.getOffset(), merged.size()),
+                        (int) Math.min(pageable.getOffset() + pageable.getPageSize(), merged.size()))
+                : merged;
+
+        List<Meetup> content = pageIds.isEmpty()
+                ? Collections.emptyList()
+                : repository.findAllByIdInOrderById(pageIds);
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filterDTO));
+    }
+
+    // The merged id lists only give id order, and they hold offset + size ids each; any other order and
+    // deep pages go through the single "registration = ? or event = ?" query instead.
+    private static boolean isMergeable(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        boolean idOrder = sort.isUnsorted()
+                || sort.stream().allMatch(order -> order.getProperty().equals("id") && order.isAscending());
+        return idOrder && (pageable.isUnpaged() || pageable.getOffset() <= MERGE_MAX_OFFSET);
+    }
+
+    @Override
+    public List<Meetup> findAllAfter(MeetupFilterDTO filterDTO, Long afterId, int limit) {
+        List<Long> pageIds = findIdsAfter(filterDTO, afterId, limit);
+        return pageIds.isEmpty()
+                ? Collections.emptyList()
+                : repository.findAllByIdInOrderById(pageIds);
+    }
+
+    @Override
+    public List<MeetupSummaryDTO> findSummariesAfter(MeetupFilterDTO filterDTO, Long afterId, int limit) {
+        List<Long> pageIds = findIdsAfter(filterDTO, afterId, limit);
+        return pageIds.isEmpty()
+                ? Collections.emptyList()
+                : repository.findSummariesByIdIn(pageIds);
+    }
+
+    private List<Long> findIdsAfter(MeetupFilterDTO filterDTO, Long afterId, int limit) {
+        String registration = filterDTO.getRegistration();
+        String event = filterDTO.getEvent();
+        if(registration == null && event == null){
+            return Collections.emptyList();
+        }
+
+        Pageable firstRows = PageRequest.of(0, limit);
+        List<Long> byRegistration = registration == null
+                ? Collections.emptyList()
+                : repository.findIdsByRegistration(registration, afterId, firstRows);
+        List<Long> byEvent = event == null
+                ? Collections.emptyList()
+                : repository.findIdsByEvent(event, afterId, firstRows);
+
+        List<Long> merged = mergeSortedIds(byRegistration, byEvent);
+        return merged.subList(0, Math.min(limit, merged.size()));
     }
 
     @Override
     public Page<Meetup> getRegistrationsByMeetup(Registration registration, Pageable pageable) {
         return repository.findByRegistration(registration,pageable);
     }
+
+    @Override
+    public Page<MeetupHistoryView> getHistoryByRegistration(String registration, Pageable pageable) {
+        // The query already orders by date, so a client sort is dropped rather than appended to it.
+        return repository.findHistoryByRegistration(registration,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    @Override
+    public void exportAttendees(Long eventId, Consumer<AttendeeExportDTO> consumer) {
+        try (Stream<AttendeeExportDTO> attendees = repository.streamAttendeesByEvent(eventId)) {
+            attendees.forEach(consumer);
+        }
+    }
+
+    @Override
+    public long count(MeetupFilterDTO filterDTO) {
+        String registration = filterDTO.getRegistration();
+        String event = filterDTO.getEvent();
+        long total = 0;
+        if(registration != null){
+            total += repository.countByRegistration(registration);
+        }
+        if(event != null){
+            total += repository.countByEvent(event);
+        }
+        if(registration != null && event != null){
+            total -= repository.countByRegistrationAndEvent(registration, event);
+        }
+        return total;
+    }
+
+    @Override
+    public List<Meetup> findAllRegisteredBetween(Long eventId, LocalDate from, LocalDate to, DateCursorDTO after, int limit) {
+        if(from.isAfter(to)){
+            throw new BusinessException("Invalid date range");
+        }
+        DateCursorDTO cursor = after == null ? new DateCursorDTO(from, FIRST_ID) : after;
+        Pageable firstRows = PageRequest.of(0, limit);
+        return eventId == null
+                ? repository.findByDateRegistrationBetweenAfter(from, to, cursor.getDate(), cursor.getId(), firstRows)
+                : repository.findByEventIdAndDateRegistrationBetweenAfter(eventId, from, to, cursor.getDate(), cursor.getId(), firstRows);
+    }
+
+    @Override
+    public long countRegisteredBetween(Long eventId, LocalDate from, LocalDate to) {
+        return eventId == null
+                ? repository.countByDateRegistrationBetween(from, to)
+                : repository.countByEventIdAndDateRegistrationBetween(eventId, from, to);
+    }
+
+    static List<Long> mergeSortedIds(List<Long> first, List<Long> second) {
+        List<Long> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while(i < first.size() || j < second.size()){
+            Long next;
+            if(j >= second.size() || (i < first.size() && first.get(i) <= second.get(j))){
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+            if(merged.isEmpty() || !merged.get(merged.size() - 1).equals(next)){
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
 }
@@ -0,0 +1,74 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import com.womkarescode.microservicemeetup.config.ReactorConfig;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.CreateMeetupService;
+import com.womkarescode.microservicemeetup.service.MeetupService;
+import com.womkarescode.microservicemeetup.service.ReactiveReadService;
+import com.womkarescode.microservicemeetup.service.RegistrationService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+@Service
+public class ReactiveReadServiceImpl implements ReactiveReadService {
+
+    private CreateMeetupService createMeetupService;
+
+    private RegistrationService registrationService;
+
+    private MeetupService meetupService;
+
+    private Scheduler dbScheduler;
+
+    public ReactiveReadServiceImpl(CreateMeetupService createMeetupService,
+                                   RegistrationService registrationService,
+                                   MeetupService meetupService,
+                                   @Qualifier(ReactorConfig.DB_SCHEDULER) Scheduler dbScheduler) {
+        this.createMeetupService = createMeetupService;
+        this.registrationService = registrationService;
+        this.meetupService = meetupService;
+        this.dbScheduler = dbScheduler;
+    }
+
+    @Override
+    public Mono<CreateMeetup> getEventById(Long id) {
+        return Mono.fromCallable(() -> createMeetupService.getEventById(id))
+                .flatMap(Mono::justOrEmpty)
+                .subscribeOn(dbScheduler);
+    }
+
+    @Override
+    public Mono<Registration> getRegistrationById(Long id) {
+        return Mono.fromCallable(() -> registrationService.getRegistrationById(id))
+                .flatMap(Mono::justOrEmpty)
+                .subscribeOn(dbScheduler);
+    }
+
+    // Keyset pages are only read when the subscriber asks for more, so a slow client holds neither a
+    // thread nor a connection while it drains the page it already has.
+    @Override
+    public Flux<Meetup> findAll(MeetupFilterDTO filterDTO, Long afterId, int pageSize) {
+        return Flux.<List<Meetup>, Long>generate(() -> afterId, (lastId, sink) -> {
+                    List<Meetup> page = meetupService.findAllAfter(filterDTO, lastId, pageSize);
+                    if (page.isEmpty()) {
+                        sink.complete();
+                        return lastId;
+                    }
+                    sink.next(page);
+                    if (page.size() < pageSize) {
+                        sink.complete();
+                    }
+                    return page.get(page.size() - 1).getId();
+                })
+                .subscribeOn(dbScheduler)
+                .concatMapIterable(page -> page, 1);
+    }
+}
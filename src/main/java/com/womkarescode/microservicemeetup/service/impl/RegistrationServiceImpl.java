@@ -1,29 +1,78 @@
 package com.womkarescode.microservicemeetup.service.impl;
 
 import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSuggestionDTO;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSummaryDTO;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import com.womkarescode.microservicemeetup.search.RegistrationSearchIndex;
+import com.womkarescode.microservicemeetup.search.SearchResult;
 import com.womkarescode.microservicemeetup.service.RegistrationService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class RegistrationServiceImpl implements RegistrationService {
 
     RegistrationRepository registrationRepository;
 
-    public RegistrationServiceImpl(RegistrationRepository repository) {
+    RegistrationSearchIndex registrationSearchIndex;
+
+    public RegistrationServiceImpl(RegistrationRepository repository, RegistrationSearchIndex registrationSearchIndex) {
         this.registrationRepository = repository;
+        this.registrationSearchIndex = registrationSearchIndex;
     }
 
     @Override
+    @Transactional
     public Registration save(Registration registration) {
-        if(registrationRepository.existsByRegistration(registration.getRegistration())){
-            throw  new BusinessException("Registration already created");
+        Registration saved;
+        try {
+            saved = registrationRepository.saveAndFlush(registration);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolated(e, Registration.UK_REGISTRATION)) {
+                throw new BusinessException("Registration already created");
+            }
+            throw e;
+        }
+        AfterCommit.run(() -> registrationSearchIndex.index(saved));
+        return saved;
+    }
+
+    // A new transaction per call keeps a bulk import's persistence context to one chunk, even inside a caller's session.
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Registration> saveAll(List<Registration> registrations) {
+        Map<String, Registration> byRegistration = new LinkedHashMap<>();
+        registrations.forEach(registration -> byRegistration.putIfAbsent(registration.getRegistration(), registration));
+        if(byRegistration.isEmpty()){
+            return new ArrayList<>();
+        }
+
+        registrationRepository.findExistingRegistrations(byRegistration.keySet())
+                .forEach(byRegistration::remove);
+
+        List<Registration> saved;
+        try {
+            saved = registrationRepository.saveAllAndFlush(byRegistration.values());
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolated(e, Registration.UK_REGISTRATION)) {
+                throw new BusinessException("Registration already created");
+            }
+            throw e;
         }
-        return registrationRepository.save(registration);
+        AfterCommit.run(() -> saved.forEach(registrationSearchIndex::index));
+        return saved;
     }
 
     @Override
@@ -32,19 +81,24 @@ public class RegistrationServiceImpl implements RegistrationService {
     }
 
     @Override
+    @Transactional
     public Registration update(Registration registration) {
         if(registration == null || registration.getId() == null){
             throw new IllegalArgumentException("Registration id can't be null");
         }
-        return registrationRepository.save(registration);
+        Registration updated = registrationRepository.save(registration);
+        AfterCommit.run(() -> registrationSearchIndex.index(updated));
+        return updated;
     }
 
     @Override
+    @Transactional
     public void delete(Registration registration) {
         if(registration == null || registration.getId() == null){
             throw new IllegalArgumentException("Registration id can't be null");
         }
         registrationRepository.delete(registration);
+        AfterCommit.run(() -> registrationSearchIndex.remove(registration.getId()));
     }
 
     @Override
@@ -59,6 +113,35 @@ public class RegistrationServiceImpl implements RegistrationService {
         return registrationRepository.findAll(example,pageRequest);
     }
 
+    @Override
+    public Page<Registration> search(String query, Pageable pageRequest) {
+        SearchResult result = registrationSearchIndex.search(query, (int) pageRequest.getOffset(), pageRequest.getPageSize());
+        List<Registration> content = result.getIds().isEmpty()
+                ? List.of()
+                : result.inRankOrder(registrationRepository.findAllById(result.getIds()), Registration::getId);
+        return new PageImpl<>(content, pageRequest, result.getTotal());
+    }
+
+    @Override
+    public List<RegistrationSuggestionDTO> typeahead(String query, int limit) {
+        return registrationSearchIndex.typeahead(query, limit);
+    }
+
+    @Override
+    public List<Registration> findAfter(Long afterId, int limit) {
+        return registrationRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<RegistrationSummaryDTO> findSummariesAfter(Long afterId, int limit) {
+        return registrationRepository.findSummariesAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public long count() {
+        return registrationRepository.count();
+    }
+
     @Override
     public Optional<Registration> getRegistrationByRegistrationAttribute(String registrationAttribute) {
         return registrationRepository.findByRegistration(registrationAttribute);
@@ -0,0 +1,96 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import com.womkarescode.microservicemeetup.service.SeatReservation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Free seats of one event spread over independent counters, so concurrent sign-ups for a hot event
+ * CAS different cache lines instead of all queueing on a single row lock or a single atomic.
+ */
+final class SeatInventory {
+
+    // 16 ints = 64 bytes, one stripe per cache line.
+    private static final int PADDING = 16;
+
+    private final int stripes;
+
+    private final AtomicIntegerArray seats;
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private volatile boolean retired;
+
+    SeatInventory(long available, int stripes) {
+        this.stripes = stripes;
+        this.seats = new AtomicIntegerArray(stripes * PADDING);
+        int free = (int) Math.max(0, available);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            seats.set(stripe * PADDING, free / stripes + (stripe < free % stripes ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns a reservation, or {@code null} when the event is full or this inventory was retired while
+     * reserving; in the latter case {@link #isRetired()} tells the caller to retry on the replacement.
+     */
+    SeatReservation tryAcquire() {
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            int index = ((start + i) % stripes) * PADDING;
+            int free;
+            while ((free = seats.get(index)) > 0) {
+                if (seats.compareAndSet(index, free, free - 1)) {
+                    inFlight.increment();
+                    if (retired) {
+                        inFlight.decrement();
+                        seats.incrementAndGet(index);
+                        return null;
+                    }
+                    return new Reservation();
+                }
+            }
+        }
+        return null;
+    }
+
+    void free() {
+        seats.incrementAndGet(ThreadLocalRandom.current().nextInt(stripes) * PADDING);
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    boolean isRetired() {
+        return retired;
+    }
+
+    long inFlight() {
+        return inFlight.sum();
+    }
+
+    int available() {
+        int total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            total += seats.get(stripe * PADDING);
+        }
+        return total;
+    }
+
+    private final class Reservation implements SeatReservation {
+
+        @Override
+        public void confirm() {
+            inFlight.decrement();
+        }
+
+        @Override
+        public void release() {
+            inFlight.decrement();
+            free();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import com.womkarescode.microservicemeetup.datasource.PrimaryReads;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.service.SeatReservation;
+import com.womkarescode.microservicemeetup.service.SeatReservationService;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class SeatReservationServiceImpl implements SeatReservationService {
+
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2);
+
+    // The first sign-up of an event counts its seats in the database outside any map lock; concurrent
+    // sign-ups for the same event park on the future until the inventory is ready.
+    private final ConcurrentMap<Long, CompletableFuture<SeatInventory>> inventories = new ConcurrentHashMap<>();
+
+    private final MeetupRepository meetupRepository;
+
+    public SeatReservationServiceImpl(MeetupRepository meetupRepository) {
+        this.meetupRepository = meetupRepository;
+    }
+
+    @Override
+    public Optional<SeatReservation> tryReserve(CreateMeetup event) {
+        if (event.getCapacity() == null) {
+            return Optional.of(SeatReservation.UNLIMITED);
+        }
+        for (;;) {
+            SeatInventory inventory = inventoryOf(event);
+            SeatReservation reservation = inventory.tryAcquire();
+            // A retired inventory has already been replaced in the map, so the retry waits for the new one.
+            if (reservation != null || !inventory.isRetired()) {
+                return Optional.ofNullable(reservation);
+            }
+        }
+    }
+
+    @Override
+    public void free(CreateMeetup event) {
+        CompletableFuture<SeatInventory> inventory = inventories.get(event.getId());
+        if (inventory != null && inventory.isDone() && !inventory.isCompletedExceptionally()) {
+            inventory.join().free();
+        }
+    }
+
+    @Override
+    public void reset(CreateMeetup event) {
+        Long eventId = event.getId();
+        CompletableFuture<SeatInventory> current = inventories.get(eventId);
+        if (current == null) {
+            return;
+        }
+        SeatInventory retiring = await(current);
+        if (event.getCapacity() == null) {
+            if (inventories.remove(eventId, current)) {
+                retiring.retire();
+            }
+            return;
+        }
+        CompletableFuture<SeatInventory> next = new CompletableFuture<>();
+        if (!inventories.replace(eventId, current, next)) {
+            return;
+        }
+        // Retiring after the swap sends every retry to the replacement; retiring before counting in-flight
+        // reservations makes the reseeded count undersell until the next reset rather than oversell.
+        retiring.retire();
+        load(next, event, retiring.inFlight());
+    }
+
+    @Override
+    public void forget(Long eventId) {
+        CompletableFuture<SeatInventory> inventory = inventories.remove(eventId);
+        if (inventory != null) {
+            inventory.thenAccept(SeatInventory::retire);
+        }
+    }
+
+    private SeatInventory inventoryOf(CreateMeetup event) {
+        CompletableFuture<SeatInventory> inventory = inventories.get(event.getId());
+        if (inventory == null) {
+            CompletableFuture<SeatInventory> created = new CompletableFuture<>();
+            inventory = inventories.putIfAbsent(event.getId(), created);
+            if (inventory == null) {
+                inventory = created;
+                load(created, event, 0);
+            }
+        }
+        return await(inventory);
+    }
+
+    private void load(CompletableFuture<SeatInventory> inventory, CreateMeetup event, long inFlight) {
+        try {
+            long confirmed = PrimaryReads.call(() -> meetupRepository.countByEventIdAndStatus(event.getId(), MeetupStatus.CONFIRMED));
+            inventory.complete(new SeatInventory(event.getCapacity() - confirmed - inFlight, STRIPES));
+        } catch (RuntimeException e) {
+            inventories.remove(event.getId(), inventory);
+            inventory.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static SeatInventory await(CompletableFuture<SeatInventory> inventory) {
+        try {
+            return inventory.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
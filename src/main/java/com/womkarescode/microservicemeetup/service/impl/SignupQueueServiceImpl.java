@@ -0,0 +1,221 @@
+package com.womkarescode.microservicemeetup.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.SignupStatusDTO;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import com.womkarescode.microservicemeetup.service.MeetupService;
+import com.womkarescode.microservicemeetup.service.SignupQueueService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts sign-ups into a bounded queue and persists them from a single writer thread in batches of up to
+ * {@code batch-size}, waiting at most {@code linger} for a batch to fill once its first sign-up arrived.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "meetup.signup.async.enabled", havingValue = "true")
+public class SignupQueueServiceImpl implements SignupQueueService {
+
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    private final MeetupService meetupService;
+
+    private final BlockingQueue<PendingSignup> queue;
+
+    private final int batchSize;
+
+    private final long lingerNanos;
+
+    private final Cache<String, SignupStatusDTO> statuses;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private volatile boolean closed;
+
+    public SignupQueueServiceImpl(MeetupService meetupService,
+                                  @Value("${meetup.signup.async.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${meetup.signup.async.batch-size:50}") int batchSize,
+                                  @Value("${meetup.signup.async.linger:PT0.02S}") Duration linger,
+                                  @Value("${meetup.signup.async.status-retention:PT1H}") Duration statusRetention) {
+        this.meetupService = meetupService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.statuses = Caffeine.newBuilder().expireAfterWrite(statusRetention).build();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "signup-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    @Override
+    public Optional<SignupStatusDTO> submit(Meetup meetup) {
+        // The synchronous sign-up answers a duplicate right away; do the same instead of accepting it with a 202.
+        if (meetupService.isEnrolled(meetup.getRegistration(), meetup.getEventDetails())) {
+            throw new BusinessException("Meetup already enrolled");
+        }
+        if (closed) {
+            return Optional.empty();
+        }
+        SignupStatusDTO pending = SignupStatusDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .state(SignupStatusDTO.State.PENDING)
+                .build();
+        statuses.put(pending.getId(), pending);
+        if (!queue.offer(new PendingSignup(pending.getId(), meetup))) {
+            statuses.invalidate(pending.getId());
+            return Optional.empty();
+        }
+        if (closed) {
+            // The writer exited while this one was queued; fail it rather than leave it pending.
+            rejectQueued();
+        }
+        return Optional.of(pending);
+    }
+
+    @Override
+    public Optional<SignupStatusDTO> getStatus(String id) {
+        return Optional.ofNullable(statuses.getIfPresent(id));
+    }
+
+    private void writeLoop() {
+        List<PendingSignup> batch = new ArrayList<>(batchSize);
+        boolean interrupted = false;
+        try {
+            // Keep draining until stop() so nothing that was accepted with a 202 is lost, even if interrupted.
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingSignup first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        batch.add(first);
+                        long deadline = System.nanoTime() + lingerNanos;
+                        while (batch.size() < batchSize) {
+                            long remaining = deadline - System.nanoTime();
+                            PendingSignup next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                            if (next == null) {
+                                break;
+                            }
+                            batch.add(next);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    log.error("Sign-up batch of {} could not be written", batch.size(), e);
+                    rejectPending(batch, "Sign-up could not be written");
+                }
+                batch.clear();
+            }
+        } finally {
+            closed = true;
+            rejectPending(batch, "Sign-up service stopped");
+            rejectQueued();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void rejectPending(List<PendingSignup> batch, String message) {
+        for (PendingSignup signup : batch) {
+            SignupStatusDTO status = statuses.getIfPresent(signup.id);
+            if (status == null || status.getState() == SignupStatusDTO.State.PENDING) {
+                reject(signup, message);
+            }
+        }
+    }
+
+    private void rejectQueued() {
+        PendingSignup signup;
+        while ((signup = queue.poll()) != null) {
+            reject(signup, "Sign-up service stopped");
+        }
+    }
+
+    private void write(List<PendingSignup> batch) {
+        List<Meetup> meetups = new ArrayList<>(batch.size());
+        batch.forEach(signup -> meetups.add(signup.meetup));
+        try {
+            List<Meetup> saved = meetupService.saveAll(meetups);
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), saved.get(i));
+            }
+        } catch (RuntimeException batchFailure) {
+            // One bad sign-up (usually a duplicate) rolls back the whole batch; retry one by one to isolate it.
+            for (PendingSignup signup : batch) {
+                try {
+                    complete(signup, meetupService.save(signup.meetup));
+                } catch (RuntimeException e) {
+                    reject(signup, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void complete(PendingSignup signup, Meetup saved) {
+        statuses.put(signup.id, SignupStatusDTO.builder()
+                .id(signup.id)
+                .state(saved.getStatus() == MeetupStatus.WAITLISTED
+                        ? SignupStatusDTO.State.WAITLISTED
+                        : SignupStatusDTO.State.CONFIRMED)
+                .meetupId(saved.getId())
+                .build());
+    }
+
+    private void reject(PendingSignup signup, String message) {
+        statuses.put(signup.id, SignupStatusDTO.builder()
+                .id(signup.id)
+                .state(SignupStatusDTO.State.REJECTED)
+                .message(message)
+                .build());
+    }
+
+    private static final class PendingSignup {
+
+        private final String id;
+
+        private final Meetup meetup;
+
+        private PendingSignup(String id, Meetup meetup) {
+            this.id = id;
+            this.meetup = meetup;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.womkarescode.microservicemeetup;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.repository.CreateMeetupRepository;
+import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the production profile against a real PostgreSQL and pushes many more concurrent requests through it
+ * than the pool has connections, checking that every request is served without waiting out the pool. It also
+ * checks that the profile's driver settings reach the pooled connections.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "meetup.sql.budget.time = PT1M")
+@ActiveProfiles({"test", "production"})
+@Testcontainers(disabledWithoutDocker = true)
+public class ProductionProfileLoadTest {
+
+    static final int SIGN_UPS = 400;
+
+    static final int CLIENT_THREADS = 64;
+
+    static final int PREPARE_THRESHOLD = 3;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("DB_URL", POSTGRES::getJdbcUrl);
+        registry.add("DB_USERNAME", POSTGRES::getUsername);
+        registry.add("DB_PASSWORD", POSTGRES::getPassword);
+        registry.add("DB_DDL_AUTO", () -> "create-drop");
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    CreateMeetupRepository createMeetupRepository;
+
+    @Autowired
+    RegistrationRepository registrationRepository;
+
+    @Autowired
+    MeetupRepository meetupRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Test
+    @DisplayName("Should serve concurrent sign-ups and searches on PostgreSQL with the production pool")
+    public void testConcurrentRequestsOnProductionProfile() throws Exception {
+        createMeetupRepository.save(CreateMeetup.builder()
+                .event("Palestra Microservice")
+                .guestSpeaker("Anna Neri")
+                .eventDate(LocalDate.now())
+                .build());
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < SIGN_UPS; i++) {
+            registrations.add(Registration.builder()
+                    .name("Thamyris")
+                    .email(String.format("thammy%04d@gmail.com", i))
+                    .password("1234")
+                    .registration(String.format("PG%04d", i))
+                    .build());
+        }
+        registrationRepository.saveAll(registrations);
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < SIGN_UPS; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/api/meetups"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"registration\":\"PG%04d\",\"event\":\"Palestra Microservice\"}", i)))
+                    .build(), HttpResponse.BodyHandlers.discarding()));
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/api/meetups?event=Palestra%20Microservice"))
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        clientExecutor.shutdown();
+
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            assertThat(response.get().statusCode()).isIn(200, 201);
+        }
+        assertThat(meetupRepository.count()).isEqualTo(SIGN_UPS);
+        assertThat(meterRegistry.get("hikaricp.connections.max").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rewrite batched inserts and prepare repeated statements on the server")
+    public void testDriverSettingsOnProductionProfile() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into create_meetup (id, event, event_date, guest_speaker) values (?, ?, current_date, 'Anna Neri')")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setLong(1, 9000 + i);
+                    insert.setString(2, "Palestra Driver " + i);
+                    insert.addBatch();
+                }
+                // A rewritten batch is sent as one multi-row insert, so the driver cannot report per-row counts.
+                assertThat(insert.executeBatch()).containsOnly(Statement.SUCCESS_NO_INFO);
+            }
+            try (PreparedStatement select = connection.prepareStatement("select count(*) from create_meetup where id >= ?")) {
+                for (int i = 0; i < PREPARE_THRESHOLD; i++) {
+                    select.setLong(1, 9000);
+                    select.executeQuery().close();
+                }
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet prepared = statement.executeQuery(
+                         "select count(*) from pg_prepared_statements where statement like 'select count(*) from create_meetup%'")) {
+                prepared.next();
+                assertThat(prepared.getInt(1)).isEqualTo(1);
+            }
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,126 @@
+package com.womkarescode.microservicemeetup;
+
+import com.jayway.jsonpath.JsonPath;
+import com.womkarescode.microservicemeetup.datasource.PrimaryReads;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.RegistrationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two separate H2 databases stand in for the primary and a replica that never catches up, so every read shows
+ * which one it went to.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url = jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "meetup.datasource.replica.jdbc-url = jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "meetup.datasource.replica.username = sa"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    RegistrationService registrationService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    @BeforeEach
+    public void copySchemaToReplica() throws Exception {
+        Path script = Files.createTempFile("meetup-schema", ".sql");
+        new JdbcTemplate(primaryDataSource).execute("SCRIPT NODATA TO '" + script + "'");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+        Files.delete(script);
+    }
+
+    @Test
+    @DisplayName("Should run read-only service methods on the replica and writes on the primary")
+    public void testReadOnlyTransactionsUseReplica() {
+        long onPrimary = PrimaryReads.call(registrationService::count);
+
+        registrationService.save(Registration.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .password("1234")
+                .registration("RR001")
+                .build());
+
+        assertThat(registrationService.count()).isZero();
+        assertThat(PrimaryReads.call(registrationService::count)).isEqualTo(onPrimary + 1);
+    }
+
+    @Test
+    @DisplayName("Should read from the primary after a write while the client sends the read-your-writes cookie")
+    public void testReadYourWritesAfterWrite() throws Exception {
+        MvcResult created = mvc.perform(post("/api/registration")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Thamyris\",\"email\":\"thammy@gmail.com\",\"password\":\"1234\",\"registration\":\"RR002\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie readPrimary = created.getResponse().getCookie("meetup-read-primary-until");
+        String id = JsonPath.read(created.getResponse().getContentAsString(), "$.id").toString();
+
+        assertThat(readPrimary).isNotNull();
+        mvc.perform(get("/api/registration/" + id).cookie(readPrimary))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/registration/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should insert a sign-up on the primary even though its lookups read the replica")
+    public void testSignUpWritesToPrimary() throws Exception {
+        for (DataSource dataSource : new DataSource[]{primaryDataSource, replicaDataSource}) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update("insert into registration (registration_id, person_name, person_email, person_password, " +
+                    "date_of_registration, registration) values (9001, 'Thamyris', 'thammy@gmail.com', '1234', current_date, 'RR003')");
+            jdbcTemplate.update("insert into create_meetup (id, event, event_date, guest_speaker) " +
+                    "values (9001, 'Palestra Replica', current_date, 'Anna Neri')");
+        }
+
+        MvcResult created = mvc.perform(post("/api/meetups")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"registration\":\"RR003\",\"event\":\"Palestra Replica\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        assertThat(created.getResponse().getCookie("meetup-read-primary-until")).isNotNull();
+        assertThat(countSignUps(primaryDataSource)).isEqualTo(1);
+        assertThat(countSignUps(replicaDataSource)).isZero();
+    }
+
+    private Integer countSignUps(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "select count(*) from meetup where id_registration = 9001", Integer.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.womkarescode.microservicemeetup;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.repository.CreateMeetupRepository;
+import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires far more concurrent requests than Tomcat's default 200 worker threads, first at the application with the
+ * virtual-threads profile off and then with it on, and compares the platform threads the JVM needed for each run.
+ */
+@EnabledIf("virtualThreadsAvailable")
+public class VirtualThreadsLoadTest {
+
+    static final int CONCURRENT_REQUESTS = 1000;
+
+    static final int DEFAULT_TOMCAT_MAX_THREADS = 200;
+
+    static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    @Test
+    @DisplayName("Should serve a burst of sign-ups and searches on fewer platform threads than the worker pool needs")
+    public void testConcurrentRequestsOnVirtualThreads() throws Exception {
+        int platformThreadsWithoutProfile = peakPlatformThreads("test");
+        int platformThreadsWithProfile = peakPlatformThreads("test", "virtual-threads");
+
+        assertThat(platformThreadsWithProfile)
+                .isLessThan(platformThreadsWithoutProfile)
+                .isLessThan(DEFAULT_TOMCAT_MAX_THREADS);
+    }
+
+    private int peakPlatformThreads(String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ServicoDeAgendamentoDoMeetupsApplication.class)
+                .profiles(profiles)
+                .properties("server.port = 0", "meetup.sql.budget.time = PT1M")
+                .run()) {
+            seed(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            return peakPlatformThreadsForBurst(port);
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        context.getBean(CreateMeetupRepository.class).save(CreateMeetup.builder()
+                .event("Palestra Microservice")
+                .guestSpeaker("Anna Neri")
+                .eventDate(LocalDate.now())
+                .build());
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS / 2; i++) {
+            registrations.add(Registration.builder()
+                    .name("Thamyris")
+                    .email(String.format("thammy%04d@gmail.com", i))
+                    .password("1234")
+                    .registration(String.format("VT%04d", i))
+                    .build());
+        }
+        context.getBean(RegistrationRepository.class).saveAll(registrations);
+    }
+
+    private int peakPlatformThreadsForBurst(int port) throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS / 2; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri(port, "/api/meetups"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"registration\":\"VT%04d\",\"event\":\"Palestra Microservice\"}", i)))
+                    .build(), HttpResponse.BodyHandlers.discarding()));
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri(port, "/api/meetups?event=Palestra%20Microservice"))
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        int peakPlatformThreads = threads.getPeakThreadCount();
+        clientExecutor.shutdown();
+
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            assertThat(response.get().statusCode()).isIn(200, 201);
+        }
+        return peakPlatformThreads;
+    }
+
+    private URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -1,12 +1,17 @@
 package com.womkarescode.microservicemeetup.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.womkarescode.microservicemeetup.mapper.CreateMeetupMapperImpl;
 import com.womkarescode.microservicemeetup.controller.resource.CreateMeetupController;
 import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.AttendanceDTO;
 import com.womkarescode.microservicemeetup.model.dto.CreateMeetupDTO;
+import com.womkarescode.microservicemeetup.model.dto.CursorPageDTO;
+import com.womkarescode.microservicemeetup.model.dto.DateCursorDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.AttendanceService;
 import com.womkarescode.microservicemeetup.service.CreateMeetupService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -39,6 +45,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest(controllers = CreateMeetupController.class)
+@Import(CreateMeetupMapperImpl.class)
 @AutoConfigureMockMvc
 public class CreateMeetupControllerTest {
 
@@ -50,6 +57,9 @@ public class CreateMeetupControllerTest {
     @MockBean
     CreateMeetupService service;
 
+    @MockBean
+    AttendanceService attendanceService;
+
     @Test
     @DisplayName("Should successfully register new event meetup")
     public void testCreateEvent() throws Exception {
@@ -285,6 +295,115 @@ public class CreateMeetupControllerTest {
                 .andExpect( jsonPath("pageable.pageNumber").value(0));
     }
 
+    @Test
+    @DisplayName("Should search events by text with pagination")
+    public void testSearchEvents() throws Exception{
+        CreateMeetup eventMeetup = CreateMeetup.builder()
+                .id(1L)
+                .event("Palestra - Microservice")
+                .guestSpeaker("Anna Neri")
+                .build();
+
+        BDDMockito.given( service.searchEventMeetup(Mockito.eq("micro"), Mockito.any(Pageable.class)))
+                .willReturn( new PageImpl<CreateMeetup>( Arrays.asList(eventMeetup),
+                        PageRequest.of(0,10), 11 ));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(MEETUP_API.concat("/search?q=micro&page=0&size=10"))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mockMvc
+                .perform( request )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath("content", Matchers.hasSize(1)))
+                .andExpect( jsonPath("content[0].event").value("Palestra - Microservice") )
+                .andExpect( jsonPath("totalElements").value(11) );
+    }
+
+    @Test
+    @DisplayName("Should page events of a date range with a date cursor")
+    public void testFindEventsByDate() throws Exception{
+        LocalDate day = LocalDate.of(2022, 5, 10);
+        CreateMeetup first = CreateMeetup.builder().id(7L).event("Palestra - Spring").eventDate(day).build();
+        CreateMeetup second = CreateMeetup.builder().id(9L).event("Palestra - Kafka").eventDate(day).build();
+        CreateMeetup extra = CreateMeetup.builder().id(3L).event("Palestra - Docker").eventDate(day.plusDays(1)).build();
+
+        DateCursorDTO after = new DateCursorDTO(day.minusDays(1), 2L);
+        BDDMockito.given( service.findEventMeetupBetween(day.minusDays(1), day.plusDays(30), after, 3))
+                .willReturn( Arrays.asList(first, second, extra) );
+
+        String queryString = String.format("/calendar?from=09/05/2022&to=09/06/2022&size=2&cursor=%s",
+                CursorPageDTO.encodeCursor(after.getDate(), after.getId()));
+
+        mockMvc
+                .perform( MockMvcRequestBuilders.get(MEETUP_API.concat(queryString)).accept(MediaType.APPLICATION_JSON) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath("content", Matchers.hasSize(2)))
+                .andExpect( jsonPath("content[1].id").value(9L) )
+                .andExpect( jsonPath("hasNext").value(true) )
+                .andExpect( jsonPath("nextCursor").value(CursorPageDTO.encodeCursor(day, 9L)) );
+    }
+
+    @Test
+    @DisplayName("Should reject a calendar cursor that is not a date cursor")
+    public void testFindEventsByDateInvalidCursor() throws Exception{
+        mockMvc
+                .perform( MockMvcRequestBuilders.get(MEETUP_API.concat("/calendar?cursor=" + CursorPageDTO.encodeCursor(5L))) )
+                .andExpect( status().isBadRequest() );
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("Should return past events newest first up to yesterday")
+    public void testFindPastEvents() throws Exception{
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        CreateMeetup event = CreateMeetup.builder().id(4L).event("Palestra - Java").eventDate(yesterday).build();
+
+        BDDMockito.given( service.findEventMeetupBetweenNewestFirst(Mockito.any(LocalDate.class), Mockito.eq(yesterday),
+                        Mockito.isNull(), Mockito.eq(21)))
+                .willReturn( Arrays.asList(event) );
+        BDDMockito.given( service.countEventMeetupBetween(Mockito.any(LocalDate.class), Mockito.eq(yesterday)))
+                .willReturn( 1L );
+
+        mockMvc
+                .perform( MockMvcRequestBuilders.get(MEETUP_API.concat("/past?withTotal=true")).accept(MediaType.APPLICATION_JSON) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath("content", Matchers.hasSize(1)))
+                .andExpect( jsonPath("hasNext").value(false) )
+                .andExpect( jsonPath("totalElements").value(1) );
+    }
+
+    @Test
+    @DisplayName("Should show the attendance counters on the event")
+    public void testGetEventWithAttendance() throws Exception{
+        CreateMeetup eventMeetup = CreateMeetup.builder().id(1L).event("Palestra - Microservice").build();
+        BDDMockito.given( service.getEventById(1L) ).willReturn( Optional.of(eventMeetup) );
+        BDDMockito.given( attendanceService.getAttendees(1L) ).willReturn( 42L );
+        BDDMockito.given( attendanceService.getWaitlisted(1L) ).willReturn( 3L );
+
+        mockMvc
+                .perform( MockMvcRequestBuilders.get(MEETUP_API.concat("/1")).accept(MediaType.APPLICATION_JSON) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath("attendees").value(42) )
+                .andExpect( jsonPath("waitlisted").value(3) );
+    }
+
+    @Test
+    @DisplayName("Should return the attendance of several events in one request")
+    public void testFindAttendance() throws Exception{
+        BDDMockito.given( attendanceService.getAttendance(Arrays.asList(1L, 2L)) )
+                .willReturn( Arrays.asList(new AttendanceDTO(1L, 42L, 3L), new AttendanceDTO(2L, 0L, 0L)) );
+
+        mockMvc
+                .perform( MockMvcRequestBuilders.get(MEETUP_API.concat("/attendance?ids=1,2")).accept(MediaType.APPLICATION_JSON) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath("$", Matchers.hasSize(2)) )
+                .andExpect( jsonPath("[0].eventId").value(1) )
+                .andExpect( jsonPath("[0].attendees").value(42) )
+                .andExpect( jsonPath("[1].attendees").value(0) );
+    }
+
     private CreateMeetupDTO newEventMeetupDTO(){
         return CreateMeetupDTO.builder()
                 .id(1L)
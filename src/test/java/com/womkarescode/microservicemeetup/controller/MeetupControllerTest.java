@@ -1,15 +1,23 @@
 package com.womkarescode.microservicemeetup.controller;
 
+import com.womkarescode.microservicemeetup.mapper.CreateMeetupMapperImpl;
+import com.womkarescode.microservicemeetup.mapper.MeetupMapperImpl;
+import com.womkarescode.microservicemeetup.mapper.RegistrationMapperImpl;
+import com.womkarescode.microservicemeetup.model.dto.AttendeeExportDTO;
+import com.womkarescode.microservicemeetup.model.dto.CursorPageDTO;
 import com.womkarescode.microservicemeetup.model.dto.MeetupDTO;
 import com.womkarescode.microservicemeetup.controller.resource.MeetupController;
 import com.womkarescode.microservicemeetup.exception.BusinessException;
 import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.IdempotentRequest;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import com.womkarescode.microservicemeetup.service.CreateMeetupService;
+import com.womkarescode.microservicemeetup.service.IdempotencyService;
 import com.womkarescode.microservicemeetup.service.MeetupService;
 import com.womkarescode.microservicemeetup.service.RegistrationService;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,23 +27,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest(controllers = {MeetupController.class})
+@Import({MeetupMapperImpl.class, RegistrationMapperImpl.class, CreateMeetupMapperImpl.class})
 @AutoConfigureMockMvc
 public class MeetupControllerTest {
 
@@ -53,6 +70,9 @@ public class MeetupControllerTest {
     @MockBean
     private MeetupService meetupService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
 
     @Test
     @DisplayName("Should create a meetup")
@@ -200,4 +220,192 @@ public class MeetupControllerTest {
         mockMvc.perform(requestBuilder)
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should stream the attendees of an event as CSV")
+    public void testExportAttendeesAsCsv() throws Exception{
+        CreateMeetup eventMeetup = CreateMeetup.builder()
+                .id(11L)
+                .event("Palestra Microservice")
+                .build();
+
+        BDDMockito.given(createMeetupService.getEventById(11L)).willReturn(Optional.of(eventMeetup));
+        BDDMockito.willAnswer(invocation -> {
+            Consumer<AttendeeExportDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new AttendeeExportDTO(1L, "001", "Thamyris", "thammy@gmail.com", LocalDate.of(2022, 3, 1)));
+            consumer.accept(new AttendeeExportDTO(2L, "002", "Neri, Anna", "anna@gmail.com", LocalDate.of(2022, 3, 2)));
+            consumer.accept(new AttendeeExportDTO(3L, "003", "Ana\rSouza", "ana@gmail.com", LocalDate.of(2022, 3, 3)));
+            return null;
+        }).given(meetupService).exportAttendees(Mockito.eq(11L), Mockito.any());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(MEETUP_API + "/events/11/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "meetupId,registration,name,email,meetupDateRegistration\n"
+                                + "1,001,Thamyris,thammy@gmail.com,2022-03-01\n"
+                                + "2,002,\"Neri, Anna\",anna@gmail.com,2022-03-02\n"
+                                + "3,003,\"Ana\rSouza\",ana@gmail.com,2022-03-03\n"));
+    }
+
+    @Test
+    @DisplayName("Should return not found when exporting attendees of a nonexistent event")
+    public void testExportAttendeesOfNonexistentEvent() throws Exception{
+        BDDMockito.given(createMeetupService.getEventById(11L)).willReturn(Optional.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(MEETUP_API + "/events/11/export"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response of a retried sign-up without saving it again")
+    public void testReplayIdempotentCreateMeetup() throws Exception{
+        MeetupFilterDTO dto = MeetupFilterDTO.builder()
+                .event("Palestra Microservice")
+                .registration("Thamyris")
+                .build();
+        String json = new ObjectMapper().writeValueAsString(dto);
+
+        BDDMockito.given(idempotencyService.claim(Mockito.eq("retry-1"), Mockito.anyString()))
+                .willReturn(Optional.of(IdempotentRequest.builder()
+                        .idempotencyKey("retry-1")
+                        .responseBody("{\"id\":11,\"registrationAttribute\":\"Thamyris\"}")
+                        .build()));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(MEETUP_API)
+                .header("Idempotency-Key", "retry-1")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        mockMvc.perform(request)
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("id").value(11));
+
+        Mockito.verify(meetupService, Mockito.never()).save(Mockito.any(Meetup.class));
+        Mockito.verify(registrationService, Mockito.never()).getByRegistration(Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("Should store the response of a sign-up sent with an Idempotency-Key")
+    public void testStoreIdempotentCreateMeetup() throws Exception{
+        MeetupFilterDTO dto = MeetupFilterDTO.builder()
+                .event("Palestra Microservice")
+                .registration("Thamyris")
+                .build();
+        String json = new ObjectMapper().writeValueAsString(dto);
+
+        Registration registration = Registration.builder().id(11L).registration("Thamyris").build();
+        CreateMeetup eventMeetup = CreateMeetup.builder().id(11L).event("Palestra Microservice").build();
+
+        BDDMockito.given(registrationService.getByRegistration("Thamyris")).willReturn(Optional.of(registration));
+        BDDMockito.given(createMeetupService.findByEvent("Palestra Microservice")).willReturn(Optional.of(eventMeetup));
+        BDDMockito.given(meetupService.save(Mockito.any(Meetup.class)))
+                .willReturn(Meetup.builder().id(11L).registration(registration).eventDetails(eventMeetup).build());
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(MEETUP_API)
+                .header("Idempotency-Key", "first-1")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        mockMvc.perform(request)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        Mockito.verify(idempotencyService).storeResponse(Mockito.eq("first-1"), Mockito.contains("\"id\":11"));
+    }
+
+    @Test
+    @DisplayName("Should answer conflict while a sign-up with the same Idempotency-Key is still running")
+    public void testIdempotentCreateMeetupInProgress() throws Exception{
+        MeetupFilterDTO dto = MeetupFilterDTO.builder()
+                .event("Palestra Microservice")
+                .registration("Thamyris")
+                .build();
+        String json = new ObjectMapper().writeValueAsString(dto);
+
+        BDDMockito.given(idempotencyService.claim(Mockito.eq("racing-1"), Mockito.anyString()))
+                .willReturn(Optional.of(IdempotentRequest.builder().idempotencyKey("racing-1").build()));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(MEETUP_API)
+                .header("Idempotency-Key", "racing-1")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        mockMvc.perform(request)
+                .andExpect(status().isConflict());
+
+        Mockito.verify(meetupService, Mockito.never()).save(Mockito.any(Meetup.class));
+    }
+
+    @Test
+    @DisplayName("Should release the Idempotency-Key when the sign-up fails")
+    public void testReleaseIdempotencyKeyOnFailure() throws Exception{
+        MeetupFilterDTO dto = MeetupFilterDTO.builder()
+                .event("Palestra Microservice")
+                .registration("Thamyris")
+                .build();
+        String json = new ObjectMapper().writeValueAsString(dto);
+
+        BDDMockito.given(registrationService.getByRegistration("Thamyris")).willReturn(Optional.empty());
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(MEETUP_API)
+                .header("Idempotency-Key", "failed-1")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        mockMvc.perform(request)
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(idempotencyService).release("failed-1");
+        Mockito.verify(idempotencyService, Mockito.never()).storeResponse(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("Should cancel a sign-up")
+    public void testCancelMeetup() throws Exception{
+        Meetup meetup = Meetup.builder().id(11L).build();
+        BDDMockito.given(meetupService.getById(11L)).willReturn(Optional.of(meetup));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(MEETUP_API + "/11"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(meetupService).cancel(meetup);
+    }
+
+    @Test
+    @DisplayName("Should return not found when cancelling a nonexistent sign-up")
+    public void testCancelNonexistentMeetup() throws Exception{
+        BDDMockito.given(meetupService.getById(11L)).willReturn(Optional.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(MEETUP_API + "/11"))
+                .andExpect(status().isNotFound());
+
+        Mockito.verify(meetupService, Mockito.never()).cancel(Mockito.any(Meetup.class));
+    }
+
+    @Test
+    @DisplayName("Should page the sign-ups of an event by registration date")
+    public void testFindAllByDate() throws Exception{
+        LocalDate day = LocalDate.of(2022, 5, 10);
+        Meetup first = Meetup.builder().id(11L).meetupDateRegistration(day).build();
+        Meetup second = Meetup.builder().id(12L).meetupDateRegistration(day.plusDays(1)).build();
+
+        BDDMockito.given(meetupService.findAllRegisteredBetween(3L, day, day.plusDays(6), null, 2))
+                .willReturn(Arrays.asList(first, second));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(MEETUP_API + "/calendar?eventId=3&from=10/05/2022&to=16/05/2022&size=1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content", Matchers.hasSize(1)))
+                .andExpect(jsonPath("content[0].meetupDateRegistration").value("10/05/2022"))
+                .andExpect(jsonPath("nextCursor").value(CursorPageDTO.encodeCursor(day, 11L)));
+    }
 }
@@ -0,0 +1,110 @@
+package com.womkarescode.microservicemeetup.controller;
+
+import com.womkarescode.microservicemeetup.controller.resource.ReactiveReadController;
+import com.womkarescode.microservicemeetup.mapper.CreateMeetupMapperImpl;
+import com.womkarescode.microservicemeetup.mapper.MeetupMapperImpl;
+import com.womkarescode.microservicemeetup.mapper.RegistrationMapperImpl;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.AttendanceService;
+import com.womkarescode.microservicemeetup.service.ReactiveReadService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = {ReactiveReadController.class})
+@Import({MeetupMapperImpl.class, RegistrationMapperImpl.class, CreateMeetupMapperImpl.class})
+@AutoConfigureMockMvc
+public class ReactiveReadControllerTest {
+
+    static final String REACTIVE_API = "/api/reactive";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveReadService reactiveReadService;
+
+    @MockBean
+    private AttendanceService attendanceService;
+
+    @Test
+    @DisplayName("Should return an event without blocking the request thread")
+    public void testGetMeetupEvent() throws Exception{
+        BDDMockito.given(reactiveReadService.getEventById(11L))
+                .willReturn(Mono.just(CreateMeetup.builder().id(11L).event("Palestra Microservice").build()));
+        BDDMockito.given(attendanceService.getAttendees(11L)).willReturn(3L);
+        BDDMockito.given(attendanceService.getWaitlisted(11L)).willReturn(1L);
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(REACTIVE_API + "/create-meetups/11"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("id").value(11))
+                .andExpect(jsonPath("event").value("Palestra Microservice"))
+                .andExpect(jsonPath("attendees").value(3))
+                .andExpect(jsonPath("waitlisted").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return not found for a nonexistent registration")
+    public void testGetNonexistentRegistration() throws Exception{
+        BDDMockito.given(reactiveReadService.getRegistrationById(11L)).willReturn(Mono.empty());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(REACTIVE_API + "/registration/11"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should stream the meetups as newline delimited JSON")
+    public void testStreamMeetups() throws Exception{
+        Registration registration = Registration.builder().id(1L).registration("001").build();
+        CreateMeetup event = CreateMeetup.builder().id(11L).event("Palestra Microservice").build();
+        BDDMockito.given(reactiveReadService.findAll(Mockito.any(MeetupFilterDTO.class), Mockito.eq(0L), Mockito.eq(20)))
+                .willReturn(Flux.just(
+                        Meetup.builder().id(1L).registration(registration).eventDetails(event).build(),
+                        Meetup.builder().id(2L).registration(registration).eventDetails(event).build()));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(REACTIVE_API + "/meetups?event=Palestra Microservice")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"id\":1")))
+                .andExpect(content().string(containsString("\n{\"id\":2")));
+    }
+}
@@ -1,9 +1,16 @@
 package com.womkarescode.microservicemeetup.controller;
+import com.womkarescode.microservicemeetup.mapper.RegistrationMapperImpl;
 import com.womkarescode.microservicemeetup.controller.resource.RegistrationController;
+import com.womkarescode.microservicemeetup.model.dto.CursorPageDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupHistoryView;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 import com.womkarescode.microservicemeetup.exception.BusinessException;
 import com.womkarescode.microservicemeetup.model.dto.RegistrationDTO;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSuggestionDTO;
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSummaryDTO;
+import com.womkarescode.microservicemeetup.service.MeetupService;
 import com.womkarescode.microservicemeetup.service.RegistrationService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
@@ -15,9 +22,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -28,6 +38,8 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -37,6 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest(controllers = {RegistrationController.class})
+@Import(RegistrationMapperImpl.class)
 @AutoConfigureMockMvc
 public class RegistrationControllerTest {
 
@@ -48,6 +61,9 @@ public class RegistrationControllerTest {
     @MockBean
     RegistrationService registrationService;
 
+    @MockBean
+    MeetupService meetupService;
+
     @Test
     @DisplayName("Should create a registration with success")
     public void testCreateRegistration() throws Exception {
@@ -298,6 +314,190 @@ public class RegistrationControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Should import a NDJSON stream of registrations counting rejected and duplicated ones")
+    public void testImportRegistrations() throws Exception {
+        String ndjson = "{\"name\":\"Thamyris\",\"email\":\"thammy@gmail.com\",\"password\":\"1234\",\"registration\":\"001\"}\n"
+                + "{\"name\":\"Anna\",\"email\":\"anna@gmail.com\",\"password\":\"1234\",\"registration\":\"002\"}\n"
+                + "{\"name\":\"Neri\"}\n";
+
+        BDDMockito.given( registrationService.saveAll(Mockito.anyList()))
+                .willReturn( Arrays.asList(Registration.builder().id(101L).registration("001").build()));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(REGISTRATION_API.concat("/bulk"))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(ndjson);
+
+        mockMvc
+                .perform( request )
+                .andExpect( status().isCreated() )
+                .andExpect( jsonPath("received").value(3))
+                .andExpect( jsonPath("imported").value(1))
+                .andExpect( jsonPath("duplicated").value(1))
+                .andExpect( jsonPath("rejected").value(1))
+                .andExpect( jsonPath("rejections", Matchers.hasSize(1)))
+                .andExpect( jsonPath("rejections[0].record").value(3));
+    }
+
+    @Test
+    @DisplayName("Should save a failed chunk row by row and report only the rows that cannot be saved")
+    public void testImportRegistrationsRetriesFailedChunk() throws Exception {
+        String ndjson = "{\"name\":\"Thamyris\",\"email\":\"thammy@gmail.com\",\"password\":\"1234\",\"registration\":\"001\"}\n"
+                + "{\"name\":\"Anna\",\"email\":\"anna@gmail.com\",\"password\":\"1234\",\"registration\":\"002\"}\n"
+                + "{\"name\":\"Neri\",\"email\":\"neri@gmail.com\",\"password\":\"1234\",\"registration\":\"003\"}\n";
+
+        BDDMockito.given( registrationService.saveAll(Mockito.anyList()))
+                .willThrow( new DataIntegrityViolationException("value too long"));
+        BDDMockito.given( registrationService.save(Mockito.argThat(r -> r != null && "001".equals(r.getRegistration()))))
+                .willReturn( Registration.builder().id(101L).registration("001").build());
+        BDDMockito.given( registrationService.save(Mockito.argThat(r -> r != null && "002".equals(r.getRegistration()))))
+                .willThrow( new BusinessException("Registration already created"));
+        BDDMockito.given( registrationService.save(Mockito.argThat(r -> r != null && "003".equals(r.getRegistration()))))
+                .willThrow( new DataIntegrityViolationException("value too long"));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(REGISTRATION_API.concat("/bulk"))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(ndjson);
+
+        mockMvc
+                .perform( request )
+                .andExpect( status().isCreated() )
+                .andExpect( jsonPath("received").value(3))
+                .andExpect( jsonPath("imported").value(1))
+                .andExpect( jsonPath("duplicated").value(1))
+                .andExpect( jsonPath("rejected").value(1))
+                .andExpect( jsonPath("rejections", Matchers.hasSize(1)))
+                .andExpect( jsonPath("rejections[0].record").value(3))
+                .andExpect( jsonPath("rejections[0].registration").value("003"));
+    }
+
+    @Test
+    @DisplayName("Should search registrations by text with pagination")
+    public void testSearchRegistrations() throws Exception {
+        Registration registration = Registration.builder().id(101L).name("Thamyris").email("thammy@gmail.com").registration("001").build();
+
+        BDDMockito.given( registrationService.search(Mockito.eq("thamy"), Mockito.any(Pageable.class)))
+                .willReturn( new PageImpl<Registration>(Arrays.asList(registration), PageRequest.of(0, 10), 11));
+
+        mockMvc
+                .perform( MockMvcRequestBuilders.get(REGISTRATION_API.concat("/search?q=thamy&page=0&size=10"))
+                        .accept(MediaType.APPLICATION_JSON) )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath("content", Matchers.hasSize(1)))
+                .andExpect( jsonPath("content[0].name").value("Thamyris"))
+                .andExpect( jsonPath("totalElements").value(11));
+    }
+
+    @Test
+    @DisplayName("Should return a registration page by cursor without counting when not requested")
+    public void testFindRegistrationByCursor() throws Exception {
+
+        Registration first = Registration.builder().id(101l).name("Thamyris").registration("001").build();
+        Registration second = Registration.builder().id(102l).name("Anna").registration("002").build();
+        Registration third = Registration.builder().id(103l).name("Neri").registration("003").build();
+
+        BDDMockito.given( registrationService.findAfter(100L, 3))
+                .willReturn( Arrays.asList(first, second, third));
+
+        String queryString = String.format("/cursor?cursor=%s&size=2", CursorPageDTO.encodeCursor(100L));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(REGISTRATION_API.concat(queryString))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mockMvc
+                .perform( request )
+                .andExpect( status().isOk() )
+                .andExpect( jsonPath("content", Matchers.hasSize(2)))
+                .andExpect( jsonPath("hasNext").value(true))
+                .andExpect( jsonPath("nextCursor").value(CursorPageDTO.encodeCursor(102L)))
+                .andExpect( jsonPath("totalElements").doesNotExist());
+
+        Mockito.verify(registrationService, Mockito.never()).count();
+    }
+
+    @Test
+    @DisplayName("Should return bad request for an invalid cursor")
+    public void testFindRegistrationByInvalidCursor() throws Exception {
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .get(REGISTRATION_API.concat("/cursor?cursor=@@@"))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mockMvc
+                .perform( request )
+                .andExpect( status().isBadRequest() );
+    }
+
+    @Test
+    @DisplayName("Should suggest registrations for a partial name and cap the limit")
+    public void testTypeahead() throws Exception {
+        BDDMockito.given(registrationService.typeahead("tham", 50))
+                .willReturn(Arrays.asList(RegistrationSuggestionDTO.builder()
+                        .id(11L)
+                        .registration("001")
+                        .name("Thamyris")
+                        .email("thammy@gmail.com")
+                        .build()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(REGISTRATION_API + "/typeahead?q=tham&limit=500")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Thamyris"))
+                .andExpect(jsonPath("$[0].registration").value("001"));
+    }
+
+    @Test
+    @DisplayName("Should return the meetup history of a registration code as projected rows")
+    public void testFindMeetupHistory() throws Exception {
+        Map<String, Object> row = new HashMap<>();
+        row.put("meetupId", 11L);
+        row.put("status", MeetupStatus.CONFIRMED);
+        row.put("meetupDateRegistration", LocalDate.of(2022, 5, 10));
+        row.put("eventId", 7L);
+        row.put("event", "Palestra Microservice");
+        MeetupHistoryView view = new SpelAwareProxyProjectionFactory().createProjection(MeetupHistoryView.class, row);
+
+        BDDMockito.given(meetupService.getHistoryByRegistration(Mockito.eq("001"), any(Pageable.class)))
+                .willReturn(new PageImpl<>(Arrays.asList(view), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(REGISTRATION_API + "/code/001/meetups")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content", hasSize(1)))
+                .andExpect(jsonPath("content[0].meetupId").value(11))
+                .andExpect(jsonPath("content[0].status").value("CONFIRMED"))
+                .andExpect(jsonPath("content[0].meetupDateRegistration").value("10/05/2022"))
+                .andExpect(jsonPath("content[0].event").value("Palestra Microservice"))
+                .andExpect(jsonPath("totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("Should list registration summaries by cursor without the password")
+    public void testFindRegistrationSummariesByCursor() throws Exception {
+        BDDMockito.given(registrationService.findSummariesAfter(100L, 3))
+                .willReturn(Arrays.asList(
+                        new RegistrationSummaryDTO(101L, "Thamyris", "thammy@gmail.com", "001", LocalDate.of(2022, 5, 10)),
+                        new RegistrationSummaryDTO(102L, "Anna", "anna@gmail.com", "002", LocalDate.of(2022, 5, 10)),
+                        new RegistrationSummaryDTO(103L, "Neri", "neri@gmail.com", "003", LocalDate.of(2022, 5, 10))));
+
+        String queryString = String.format("/list?cursor=%s&size=2", CursorPageDTO.encodeCursor(100L));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(REGISTRATION_API + queryString)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content", hasSize(2)))
+                .andExpect(jsonPath("content[0].registration").value("001"))
+                .andExpect(jsonPath("content[0].dateOfRegistration").value("10/05/2022"))
+                .andExpect(jsonPath("content[0].password").doesNotExist())
+                .andExpect(jsonPath("nextCursor").value(CursorPageDTO.encodeCursor(102L)));
+    }
+
     private RegistrationDTO createNewRegistration() {
         return  RegistrationDTO.builder()
                 .id(101l)
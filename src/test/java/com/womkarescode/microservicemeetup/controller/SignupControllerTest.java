@@ -0,0 +1,131 @@
+package com.womkarescode.microservicemeetup.controller;
+
+import com.womkarescode.microservicemeetup.controller.resource.SignupController;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.dto.SignupStatusDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.CreateMeetupService;
+import com.womkarescode.microservicemeetup.service.RegistrationService;
+import com.womkarescode.microservicemeetup.service.SignupQueueService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Optional;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = {SignupController.class}, properties = "meetup.signup.async.enabled=true")
+@AutoConfigureMockMvc
+public class SignupControllerTest {
+
+    static final String SIGNUP_API = "/api/meetups/signups";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    private SignupQueueService signupQueueService;
+
+    @MockBean
+    private RegistrationService registrationService;
+
+    @MockBean
+    private CreateMeetupService createMeetupService;
+
+    @Test
+    @DisplayName("Should accept a sign-up and point to its status")
+    public void testSubmitSignup() throws Exception{
+        givenRegistrationAndEvent();
+        BDDMockito.given(signupQueueService.submit(Mockito.any(Meetup.class)))
+                .willReturn(Optional.of(SignupStatusDTO.builder().id("abc").state(SignupStatusDTO.State.PENDING).build()));
+
+        mockMvc.perform(signupRequest())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost" + SIGNUP_API + "/abc"))
+                .andExpect(jsonPath("id").value("abc"))
+                .andExpect(jsonPath("state").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("Should ask the client to retry when the sign-up queue is full")
+    public void testSubmitSignupOnFullQueue() throws Exception{
+        givenRegistrationAndEvent();
+        BDDMockito.given(signupQueueService.submit(Mockito.any(Meetup.class))).willReturn(Optional.empty());
+
+        mockMvc.perform(signupRequest())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Should reject a sign-up for a nonexistent event before queueing it")
+    public void testSubmitSignupOfNonexistentEvent() throws Exception{
+        BDDMockito.given(registrationService.getByRegistration("Thamyris"))
+                .willReturn(Optional.of(Registration.builder().id(11L).registration("Thamyris").build()));
+        BDDMockito.given(createMeetupService.findByEvent("Palestra Microservice")).willReturn(Optional.empty());
+
+        mockMvc.perform(signupRequest())
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(signupQueueService);
+    }
+
+    @Test
+    @DisplayName("Should return the status of a queued sign-up")
+    public void testGetSignupStatus() throws Exception{
+        BDDMockito.given(signupQueueService.getStatus("abc"))
+                .willReturn(Optional.of(SignupStatusDTO.builder().id("abc").state(SignupStatusDTO.State.CONFIRMED).meetupId(11L).build()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(SIGNUP_API + "/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("state").value("CONFIRMED"))
+                .andExpect(jsonPath("meetupId").value(11));
+    }
+
+    @Test
+    @DisplayName("Should return not found for an unknown sign-up")
+    public void testGetUnknownSignupStatus() throws Exception{
+        BDDMockito.given(signupQueueService.getStatus("abc")).willReturn(Optional.empty());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(SIGNUP_API + "/abc"))
+                .andExpect(status().isNotFound());
+    }
+
+    private void givenRegistrationAndEvent(){
+        BDDMockito.given(registrationService.getByRegistration("Thamyris"))
+                .willReturn(Optional.of(Registration.builder().id(11L).registration("Thamyris").build()));
+        BDDMockito.given(createMeetupService.findByEvent("Palestra Microservice"))
+                .willReturn(Optional.of(CreateMeetup.builder().id(11L).event("Palestra Microservice").build()));
+    }
+
+    private MockHttpServletRequestBuilder signupRequest() throws Exception{
+        MeetupFilterDTO dto = MeetupFilterDTO.builder()
+                .event("Palestra Microservice")
+                .registration("Thamyris")
+                .build();
+        return MockMvcRequestBuilders.post(SIGNUP_API)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(dto));
+    }
+}
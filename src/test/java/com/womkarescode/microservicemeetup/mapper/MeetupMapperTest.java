@@ -0,0 +1,66 @@
+package com.womkarescode.microservicemeetup.mapper;
+
+import com.womkarescode.microservicemeetup.controller.form.RegistrationForm;
+import com.womkarescode.microservicemeetup.model.dto.MeetupDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MeetupMapperTest {
+
+    RegistrationMapper registrationMapper = new RegistrationMapperImpl();
+
+    MeetupMapper meetupMapper = new MeetupMapperImpl(registrationMapper, new CreateMeetupMapperImpl());
+
+    @Test
+    @DisplayName("Should map a meetup with its registration and event details")
+    public void testMapMeetupToDTO(){
+        Registration registration = Registration.builder()
+                .id(11L)
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .password("1234")
+                .dateOfRegistration(LocalDate.now())
+                .registration("001")
+                .build();
+
+        CreateMeetup event = CreateMeetup.builder()
+                .id(12L)
+                .event("Palestra Microservice")
+                .eventDate(LocalDate.now())
+                .guestSpeaker("Anna Neri")
+                .build();
+
+        Meetup meetup = Meetup.builder().id(13L).registration(registration).eventDetails(event).build();
+
+        MeetupDTO dto = meetupMapper.toDTO(meetup);
+
+        assertThat(dto.getId()).isEqualTo(13L);
+        assertThat(dto.getRegistrationAttribute()).isEqualTo("001");
+        assertThat(dto.getRegistration().getName()).isEqualTo("Thamyris");
+        assertThat(dto.getEventDetails().getEvent()).isEqualTo("Palestra Microservice");
+    }
+
+    @Test
+    @DisplayName("Should keep the registration date default when mapping a form to a new registration")
+    public void testMapFormToNewRegistration(){
+        RegistrationForm form = RegistrationForm.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .password("1234")
+                .registration("001")
+                .build();
+
+        Registration registration = registrationMapper.toEntity(form);
+
+        assertThat(registration.getId()).isNull();
+        assertThat(registration.getRegistration()).isEqualTo("001");
+        assertThat(registration.getDateOfRegistration()).isEqualTo(LocalDate.now());
+    }
+}
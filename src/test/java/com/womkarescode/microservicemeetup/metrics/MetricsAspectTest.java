@@ -0,0 +1,66 @@
+package com.womkarescode.microservicemeetup.metrics;
+
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.service.MeetupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Page;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class MetricsAspectTest {
+
+    SimpleMeterRegistry registry;
+
+    MeetupService meetupService;
+
+    MeetupService timedMeetupService;
+
+    @BeforeEach
+    public void setUp(){
+        registry = new SimpleMeterRegistry();
+        meetupService = Mockito.mock(MeetupService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(meetupService);
+        factory.addAspect(new MetricsAspect(registry));
+        timedMeetupService = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should time service calls tagged by method and exception")
+    public void testTimeServiceCall(){
+        MeetupFilterDTO filter = new MeetupFilterDTO();
+        Mockito.when(meetupService.count(filter)).thenReturn(3L).thenThrow(new BusinessException("boom"));
+
+        timedMeetupService.count(filter);
+        catchThrowable(() -> timedMeetupService.count(filter));
+
+        assertThat(registry.get(MetricsAspect.SERVICE_CALLS).tag("method", "count").tag("exception", "none").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get(MetricsAspect.SERVICE_CALLS).tag("method", "count").tag("exception", "BusinessException").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count rows of collections, pages and optionals but not of counts")
+    public void testRowsOf(){
+        Page<String> page = new PageImpl<>(Arrays.asList("a", "b"));
+
+        assertThat(MetricsAspect.rowsOf(List.class, Arrays.asList("a", "b", "c"))).isEqualTo(3);
+        assertThat(MetricsAspect.rowsOf(Page.class, page)).isEqualTo(2);
+        assertThat(MetricsAspect.rowsOf(Optional.class, Optional.empty())).isZero();
+        assertThat(MetricsAspect.rowsOf(Object.class, "entity")).isEqualTo(1);
+        assertThat(MetricsAspect.rowsOf(long.class, 42L)).isNull();
+        assertThat(MetricsAspect.rowsOf(void.class, null)).isNull();
+    }
+}
@@ -0,0 +1,110 @@
+package com.womkarescode.microservicemeetup.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = "meetup.sql.budget.statements = 0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SqlBudgetFilterTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp(){
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should record the SQL statements and database time of a request by handler")
+    public void testSqlStatementsPerRequest() throws Exception {
+        SqlStatementCounter counter = new SqlStatementCounter(Duration.ofSeconds(1));
+        SqlBudgetFilter filter = new SqlBudgetFilter(counter, registry, 20, Duration.ofSeconds(1), true);
+        MockHttpServletRequest request = handledBy("testSqlStatementsPerRequest");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            runQuery(counter, "select 1");
+            runQuery(counter, "select 2");
+            res.getWriter().write("ok");
+        });
+        runQuery(counter, "select 3");
+
+        assertThat(registry.get(SqlBudgetFilter.SQL_STATEMENTS).tag("handler", "SqlBudgetFilterTest.testSqlStatementsPerRequest")
+                .summary().totalAmount()).isEqualTo(2);
+        assertThat(registry.get(SqlBudgetFilter.SQL_TIME).tag("handler", "SqlBudgetFilterTest.testSqlStatementsPerRequest")
+                .timer().count()).isEqualTo(1);
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should fail a request over the SQL statement budget before its body is sent")
+    public void testSqlBudgetExceeded() throws Exception {
+        SqlStatementCounter counter = new SqlStatementCounter(Duration.ofSeconds(1));
+        SqlBudgetFilter filter = new SqlBudgetFilter(counter, registry, 1, Duration.ofSeconds(1), true);
+        MockHttpServletRequest request = handledBy("testSqlBudgetExceeded");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Throwable exception = catchThrowable(() -> filter.doFilter(request, response, (req, res) -> {
+            runQuery(counter, "select 1");
+            runQuery(counter, "select 2");
+            res.getWriter().write("ok");
+            res.flushBuffer();
+        }));
+
+        assertThat(exception).isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("SqlBudgetFilterTest.testSqlBudgetExceeded ran 2 SQL statements");
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fail an endpoint that runs more SQL than the budget allows")
+    public void testEndpointOverBudget() {
+        Throwable exception = catchThrowable(() -> mvc.perform(post("/api/registration")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Thamyris\",\"email\":\"thammy@gmail.com\",\"password\":\"1234\",\"registration\":\"SB001\"}")));
+
+        assertThat(exception).isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("RegistrationController.create ran ")
+                .hasMessageContaining("over the budget of 0 statements");
+    }
+
+    private MockHttpServletRequest handledBy(String method) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meetups");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(this, method));
+        return request;
+    }
+
+    private void runQuery(SqlStatementCounter counter, String sql) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        List<QueryInfo> queries = Collections.singletonList(new QueryInfo(sql));
+        counter.beforeQuery(execInfo, queries);
+        counter.afterQuery(execInfo, queries);
+    }
+}
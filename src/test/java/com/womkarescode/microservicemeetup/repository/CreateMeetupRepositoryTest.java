@@ -8,10 +8,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -115,6 +117,50 @@ public class CreateMeetupRepositoryTest {
         assertThat(nonCreateMeetup.isPresent()).isFalse();
     }
 
+    @Test
+    @DisplayName("Should seek events by date range ordered by date and id")
+    public void testFindByEventDateBetweenAfter(){
+        LocalDate day = LocalDate.of(2022, 5, 10);
+        CreateMeetup before = persistEvent("Palestra - Java", day.minusDays(1));
+        CreateMeetup first = persistEvent("Palestra - Spring", day);
+        CreateMeetup second = persistEvent("Palestra - Kafka", day);
+        CreateMeetup last = persistEvent("Palestra - Docker", day.plusDays(2));
+        persistEvent("Palestra - Kubernetes", day.plusDays(3));
+
+        List<CreateMeetup> firstPage = repository.findByEventDateBetweenAfter(day, day.plusDays(2),
+                day, 0L, PageRequest.of(0, 2));
+        List<CreateMeetup> secondPage = repository.findByEventDateBetweenAfter(day, day.plusDays(2),
+                first.getEventDate(), first.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).containsExactly(first, second);
+        assertThat(secondPage).containsExactly(second, last);
+        assertThat(firstPage).doesNotContain(before);
+        assertThat(repository.countByEventDateBetween(day, day.plusDays(2))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should seek past events newest first")
+    public void testFindByEventDateBetweenBefore(){
+        LocalDate day = LocalDate.of(2022, 5, 10);
+        CreateMeetup oldest = persistEvent("Palestra - Java", day.minusDays(1));
+        CreateMeetup first = persistEvent("Palestra - Spring", day);
+        CreateMeetup second = persistEvent("Palestra - Kafka", day);
+        persistEvent("Palestra - Docker", day.plusDays(1));
+
+        List<CreateMeetup> firstPage = repository.findByEventDateBetweenBefore(LocalDate.of(1, 1, 1), day,
+                day, Long.MAX_VALUE, PageRequest.of(0, 2));
+        List<CreateMeetup> secondPage = repository.findByEventDateBetweenBefore(LocalDate.of(1, 1, 1), day,
+                first.getEventDate(), first.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).containsExactly(second, first);
+        assertThat(secondPage).containsExactly(oldest);
+    }
+
+    private CreateMeetup persistEvent(String event, LocalDate eventDate) {
+        CreateMeetup eventMeetup = createNewEvent(event);
+        eventMeetup.setEventDate(eventDate);
+        return entityManager.persist(eventMeetup);
+    }
 
     public static CreateMeetup createNewEvent(String event) {
         return CreateMeetup.builder()
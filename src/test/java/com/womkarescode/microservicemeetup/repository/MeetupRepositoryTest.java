@@ -1,25 +1,37 @@
 package com.womkarescode.microservicemeetup.repository;
 
+import com.womkarescode.microservicemeetup.model.dto.AttendanceDTO;
+import com.womkarescode.microservicemeetup.model.dto.AttendeeExportDTO;
+import com.womkarescode.microservicemeetup.model.dto.MeetupHistoryView;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class MeetupRepositoryTest {
 
     @Autowired
@@ -99,6 +111,270 @@ public class MeetupRepositoryTest {
         assertThat(exists).isFalse();
     }
 
+    @Test
+    @DisplayName("Should tell whether a registration is enrolled in an event")
+    public void testExistsByRegistrationAndEventDetails(){
+        CreateMeetup event = CreateMeetupRepositoryTest.createNewEvent("Palestra Microservice");
+        entityManager.persist(event);
+        CreateMeetup otherEvent = CreateMeetupRepositoryTest.createNewEvent("Palestra Spring");
+        entityManager.persist(otherEvent);
+        Meetup meetup = persistSignUp(event, "001", LocalDate.now());
+
+        assertThat(repository.existsByRegistrationAndEventDetails(meetup.getRegistration(), event)).isTrue();
+        assertThat(repository.existsByRegistrationAndEventDetails(meetup.getRegistration(), otherEvent)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return meetup ids by registration and by event ordered by id")
+    public void testFindIdsByRegistrationAndByEvent(){
+        Registration registration = Registration.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .registration("001")
+                .build();
+        entityManager.persist(registration);
+
+        Meetup byRegistration = createNewMeetup();
+        byRegistration.setRegistration(registration);
+        entityManager.persist(byRegistration);
+
+        Registration other = Registration.builder()
+                .name("Anna")
+                .email("anna@gmail.com")
+                .registration("002")
+                .build();
+        entityManager.persist(other);
+
+        Meetup byEvent = createNewMeetup();
+        byEvent.setRegistration(other);
+        byEvent.setEvent("Palestra Microservice");
+        entityManager.persist(byEvent);
+
+        Meetup byBoth = createNewMeetup();
+        byBoth.setRegistration(registration);
+        byBoth.setEvent("Palestra Microservice");
+        entityManager.persist(byBoth);
+
+        List<Long> registrationIds = repository.findIdsByRegistration("001", 0L, PageRequest.of(0, 10));
+        List<Long> eventIds = repository.findIdsByEvent("Palestra Microservice", 0L, PageRequest.of(0, 10));
+        List<Long> eventIdsAfterCursor = repository.findIdsByEvent("Palestra Microservice", byEvent.getId(), PageRequest.of(0, 10));
+
+        assertThat(registrationIds).containsExactly(byRegistration.getId(), byBoth.getId());
+        assertThat(eventIds).containsExactly(byEvent.getId(), byBoth.getId());
+        assertThat(eventIdsAfterCursor).containsExactly(byBoth.getId());
+        assertThat(repository.countByRegistrationAndEvent("001", "Palestra Microservice")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should match the event only on meetups with a registration, like the registration or event search")
+    public void testFindIdsByEventSkipsMeetupsWithoutRegistration(){
+        Registration registration = Registration.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .registration("001")
+                .build();
+        entityManager.persist(registration);
+
+        Meetup withRegistration = createNewMeetup();
+        withRegistration.setRegistration(registration);
+        withRegistration.setEvent("Palestra Microservice");
+        entityManager.persist(withRegistration);
+
+        Meetup withoutRegistration = createNewMeetup();
+        withoutRegistration.setEvent("Palestra Microservice");
+        entityManager.persist(withoutRegistration);
+
+        List<Long> eventIds = repository.findIdsByEvent("Palestra Microservice", 0L, PageRequest.of(0, 10));
+        Page<Meetup> searched = repository.findByRegistrationOnMeetup(null, "Palestra Microservice", PageRequest.of(0, 10));
+
+        assertThat(eventIds).containsExactly(withRegistration.getId());
+        assertThat(repository.countByEvent("Palestra Microservice")).isEqualTo(1);
+        assertThat(searched.getContent()).extracting(Meetup::getId).containsExactlyElementsOf(eventIds);
+    }
+
+    @Test
+    @DisplayName("Should load a page of meetups with registration and event details in a single statement")
+    public void testFindPageLoadsAssociationsInOneStatement(){
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Registration registration = Registration.builder()
+                    .name("Attendee " + i)
+                    .email("attendee" + i + "@gmail.com")
+                    .registration("00" + i)
+                    .build();
+            entityManager.persist(registration);
+
+            CreateMeetup event = CreateMeetupRepositoryTest.createNewEvent("Palestra " + i);
+            entityManager.persist(event);
+
+            Meetup meetup = createNewMeetup();
+            meetup.setRegistration(registration);
+            meetup.setEventDetails(event);
+            entityManager.persist(meetup);
+            ids.add(meetup.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<Meetup> page = repository.findAllByIdInOrderById(ids);
+        page.forEach(meetup -> {
+            assertThat(meetup.getRegistration().getName()).isNotNull();
+            assertThat(meetup.getEventDetails().getEvent()).isNotNull();
+        });
+
+        assertThat(page).hasSize(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stream the attendees of one event")
+    public void testStreamAttendeesByEvent(){
+        CreateMeetup event = CreateMeetupRepositoryTest.createNewEvent("Palestra Microservice");
+        entityManager.persist(event);
+        CreateMeetup otherEvent = CreateMeetupRepositoryTest.createNewEvent("Palestra Spring");
+        entityManager.persist(otherEvent);
+
+        Registration registration = Registration.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .registration("001")
+                .build();
+        entityManager.persist(registration);
+
+        Meetup attending = createNewMeetup();
+        attending.setRegistration(registration);
+        attending.setEventDetails(event);
+        entityManager.persist(attending);
+
+        Meetup otherMeetup = createNewMeetup();
+        otherMeetup.setRegistration(registration);
+        otherMeetup.setEventDetails(otherEvent);
+        entityManager.persist(otherMeetup);
+
+        List<AttendeeExportDTO> attendees;
+        try (Stream<AttendeeExportDTO> stream = repository.streamAttendeesByEvent(event.getId())) {
+            attendees = stream.collect(Collectors.toList());
+        }
+
+        assertThat(attendees).hasSize(1);
+        assertThat(attendees.get(0).getMeetupId()).isEqualTo(attending.getId());
+        assertThat(attendees.get(0).getEmail()).isEqualTo("thammy@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Should seek sign-ups of one event by registration date")
+    public void testFindByEventIdAndDateRegistrationBetweenAfter(){
+        CreateMeetup event = CreateMeetupRepositoryTest.createNewEvent("Palestra Microservice");
+        entityManager.persist(event);
+        CreateMeetup otherEvent = CreateMeetupRepositoryTest.createNewEvent("Palestra Spring");
+        entityManager.persist(otherEvent);
+
+        LocalDate day = LocalDate.of(2022, 5, 10);
+        Meetup early = persistSignUp(event, "001", day.minusDays(5));
+        Meetup first = persistSignUp(event, "002", day);
+        Meetup second = persistSignUp(event, "003", day);
+        persistSignUp(otherEvent, "004", day);
+        Meetup last = persistSignUp(event, "005", day.plusDays(1));
+
+        List<Meetup> firstPage = repository.findByEventIdAndDateRegistrationBetweenAfter(event.getId(),
+                day, day.plusDays(1), day, 0L, PageRequest.of(0, 2));
+        List<Meetup> secondPage = repository.findByEventIdAndDateRegistrationBetweenAfter(event.getId(),
+                day, day.plusDays(1), second.getMeetupDateRegistration(), second.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).extracting(Meetup::getId).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(Meetup::getId).containsExactly(last.getId());
+        assertThat(firstPage).extracting(Meetup::getId).doesNotContain(early.getId());
+        assertThat(repository.countByEventIdAndDateRegistrationBetween(event.getId(), day, day.plusDays(1))).isEqualTo(3);
+        assertThat(repository.countByDateRegistrationBetween(day, day.plusDays(1))).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should count confirmed and waitlisted sign-ups per event in one query")
+    public void testCountAttendanceByEvent(){
+        CreateMeetup event = CreateMeetupRepositoryTest.createNewEvent("Palestra Microservice");
+        entityManager.persist(event);
+        CreateMeetup otherEvent = CreateMeetupRepositoryTest.createNewEvent("Palestra Spring");
+        entityManager.persist(otherEvent);
+
+        LocalDate today = LocalDate.now();
+        persistSignUp(event, "001", today).setStatus(MeetupStatus.CONFIRMED);
+        persistSignUp(event, "002", today).setStatus(MeetupStatus.CONFIRMED);
+        persistSignUp(event, "003", today).setStatus(MeetupStatus.WAITLISTED);
+        persistSignUp(otherEvent, "004", today).setStatus(MeetupStatus.CONFIRMED);
+        entityManager.flush();
+
+        List<AttendanceDTO> attendance = repository.countAttendanceByEvent();
+
+        assertThat(attendance).containsExactlyInAnyOrder(
+                new AttendanceDTO(event.getId(), 2L, 1L),
+                new AttendanceDTO(otherEvent.getId(), 1L, 0L));
+    }
+
+    @Test
+    @DisplayName("Should project the meetup history of a registration code newest first without loading entities")
+    public void testFindHistoryByRegistration(){
+        Registration registration = Registration.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .registration("001")
+                .build();
+        entityManager.persist(registration);
+
+        LocalDate day = LocalDate.of(2022, 5, 10);
+        Meetup older = null;
+        Meetup newer = null;
+        for (int i = 0; i < 3; i++) {
+            CreateMeetup event = CreateMeetupRepositoryTest.createNewEvent("Palestra " + i);
+            entityManager.persist(event);
+            Meetup meetup = createNewMeetup();
+            meetup.setRegistration(registration);
+            meetup.setEventDetails(event);
+            meetup.setMeetupDateRegistration(day.plusDays(i));
+            entityManager.persist(meetup);
+            older = i == 1 ? meetup : older;
+            newer = i == 2 ? meetup : newer;
+        }
+        persistSignUp(entityManager.persist(CreateMeetupRepositoryTest.createNewEvent("Palestra Spring")), "002", day);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        Page<MeetupHistoryView> page = repository.findHistoryByRegistration("001", PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(MeetupHistoryView::getMeetupId)
+                .containsExactly(newer.getId(), older.getId());
+        assertThat(page.getContent().get(0).getEvent()).isEqualTo("Palestra 2");
+        assertThat(page.getContent().get(0).getMeetupDateRegistration()).isEqualTo(day.plusDays(2));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private Meetup persistSignUp(CreateMeetup event, String code, LocalDate date) {
+        Registration registration = Registration.builder()
+                .name("Thamyris " + code)
+                .email("thammy" + code + "@gmail.com")
+                .registration(code)
+                .build();
+        entityManager.persist(registration);
+
+        Meetup meetup = createNewMeetup();
+        meetup.setRegistration(registration);
+        meetup.setEventDetails(event);
+        meetup.setMeetupDateRegistration(date);
+        return entityManager.persist(meetup);
+    }
+
     private Meetup createNewMeetup() {
         Meetup meetup = Meetup.builder().id(11l).build();
         return Meetup.builder()
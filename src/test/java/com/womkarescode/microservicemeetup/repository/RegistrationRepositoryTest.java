@@ -1,17 +1,21 @@
 package com.womkarescode.microservicemeetup.repository;
 
+import com.womkarescode.microservicemeetup.model.dto.RegistrationSummaryDTO;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,6 +101,22 @@ public class RegistrationRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("Should select registration summaries after the cursor without managing entities")
+    public void testFindSummariesAfter(){
+        Registration first = entityManager.persist(createNewRegistration("001"));
+        Registration second = entityManager.persist(createNewRegistration("002"));
+        Registration third = entityManager.persist(createNewRegistration("003"));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<RegistrationSummaryDTO> summaries = repository.findSummariesAfter(first.getId(), PageRequest.of(0, 10));
+
+        assertThat(summaries).extracting(RegistrationSummaryDTO::getId).containsExactly(second.getId(), third.getId());
+        assertThat(summaries.get(0).getRegistration()).isEqualTo("002");
+        assertThat(summaries.get(0).getName()).isEqualTo("Thamyris");
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
 
     private Registration createNewRegistration(String registration) {
         return Registration.builder()
@@ -0,0 +1,151 @@
+package com.womkarescode.microservicemeetup.repository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.orm.jpa.HibernateMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every repository call commits on its own here, as in the application, so the cache only holds committed rows.
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache = true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache = true"})
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+        HibernateMetricsAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    CreateMeetupRepository createMeetupRepository;
+
+    @Autowired
+    RegistrationRepository registrationRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Statistics statistics;
+
+    @BeforeEach
+    public void setUp(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Should resolve an event by name from the second-level cache")
+    public void testFindByEventFromCache(){
+        createMeetupRepository.save(createNewEvent("Palestra - Cache"));
+        createMeetupRepository.findByEvent("Palestra - Cache");
+        statistics.clear();
+
+        Optional<CreateMeetup> foundEvent = createMeetupRepository.findByEvent("Palestra - Cache");
+
+        assertThat(foundEvent).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should resolve a registration by code from the second-level cache")
+    public void testFindByRegistrationFromCache(){
+        registrationRepository.save(Registration.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .password("1234")
+                .registration("CACHE-001")
+                .build());
+        registrationRepository.findByRegistration("CACHE-001");
+        statistics.clear();
+
+        Optional<Registration> foundRegistration = registrationRepository.findByRegistration("CACHE-001");
+
+        assertThat(foundRegistration).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should follow a renamed event instead of serving the cached name")
+    public void testRenameEvictsOldName(){
+        CreateMeetup event = createMeetupRepository.save(createNewEvent("Palestra - Old name"));
+        createMeetupRepository.findByEvent("Palestra - Old name");
+
+        event.setEvent("Palestra - New name");
+        createMeetupRepository.save(event);
+
+        assertThat(createMeetupRepository.findByEvent("Palestra - Old name")).isEmpty();
+        assertThat(createMeetupRepository.findByEvent("Palestra - New name"))
+                .map(CreateMeetup::getId)
+                .contains(event.getId());
+    }
+
+    @Test
+    @DisplayName("Should not serve a deleted event from the cache")
+    public void testDeleteEvictsEvent(){
+        CreateMeetup event = createMeetupRepository.save(createNewEvent("Palestra - Deleted"));
+        createMeetupRepository.findByEvent("Palestra - Deleted");
+
+        createMeetupRepository.delete(event);
+
+        assertThat(createMeetupRepository.findByEvent("Palestra - Deleted")).isEmpty();
+        assertThat(createMeetupRepository.findById(event.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should expire cached entries a minute after they were written and keep their statistics")
+    public void testRegionsExpireAfterWrite(){
+        CaffeineConfiguration<Object, Object> regions = TypesafeConfigurator.defaults(ConfigFactory.load());
+
+        assertThat(regions.getExpireAfterWrite()).hasValue(Duration.ofSeconds(60).toNanos());
+        assertThat(regions.isStatisticsEnabled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should publish natural-id cache hits as metrics")
+    public void testCacheHitsPublished(){
+        createMeetupRepository.save(createNewEvent("Palestra - Metrics"));
+        createMeetupRepository.findByEvent("Palestra - Metrics");
+        createMeetupRepository.findByEvent("Palestra - Metrics");
+
+        assertThat(meterRegistry.get("hibernate.cache.natural.id.requests").tag("result", "hit").functionCounter().count())
+                .isPositive();
+    }
+
+    private CreateMeetup createNewEvent(String event) {
+        return CreateMeetup.builder()
+                .event(event)
+                .eventDate(LocalDate.now())
+                .hostedBy("Womakerscode")
+                .guestSpeaker("Anna Neri")
+                .build();
+    }
+}
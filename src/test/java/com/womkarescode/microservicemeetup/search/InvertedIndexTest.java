@@ -0,0 +1,68 @@
+package com.womkarescode.microservicemeetup.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.womkarescode.microservicemeetup.search.InvertedIndex.field;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvertedIndexTest {
+
+    InvertedIndex index = new InvertedIndex();
+
+    @Test
+    @DisplayName("Should split text into case-folded tokens without accents")
+    public void testTokenize(){
+        assertThat(InvertedIndex.tokenize("Palestra: Introdução ao SPRING-Boot!"))
+                .containsExactly("palestra", "introducao", "ao", "spring", "boot");
+    }
+
+    @Test
+    @DisplayName("Should match every query word as a prefix and require all of them")
+    public void testPrefixAndConjunction(){
+        index.put(1L, field("Palestra Microservice", 1f));
+        index.put(2L, field("Palestra Java", 1f));
+
+        assertThat(index.search("pal micro", 0, 10).getIds()).containsExactly(1L);
+        assertThat(index.search("PALESTRA", 0, 10).getIds()).containsExactly(1L, 2L);
+        assertThat(index.search("kotlin", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rank heavier fields and exact words first")
+    public void testRanking(){
+        index.put(1L, field("Anna Nery", 1f), field("Microservice", 3f));
+        index.put(2L, field("Micro", 1f));
+        index.put(3L, field("Micro", 3f));
+
+        assertThat(index.search("micro", 0, 10).getIds()).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should page through the ranked matches")
+    public void testPagination(){
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, field("Meetup " + id, 1f));
+        }
+
+        SearchResult page = index.search("meetup", 2, 2);
+
+        assertThat(page.getTotal()).isEqualTo(5);
+        assertThat(page.getIds()).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should forget the old words of a re-indexed or removed document")
+    public void testUpdateAndRemove(){
+        index.put(1L, field("Palestra Java", 1f));
+        index.put(1L, field("Palestra Kotlin", 1f));
+
+        assertThat(index.search("java", 0, 10).getTotal()).isZero();
+        assertThat(index.search("kotlin", 0, 10).getIds()).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.search("palestra", 0, 10).getTotal()).isZero();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,63 @@
+package com.womkarescode.microservicemeetup.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrigramIndexTest {
+
+    TrigramIndex<String> index = new TrigramIndex<>();
+
+    @Test
+    @DisplayName("Should find entries by any substring of their texts, ignoring case and accents")
+    public void testSubstringMatch(){
+        index.put(1L, "Thamyris", "Thamyris Gonçalves", "thammy@gmail.com");
+        index.put(2L, "Anna", "Anna Neri", "anna.neri@outlook.com");
+
+        assertThat(index.search("GONCAL", 10)).containsExactly("Thamyris");
+        assertThat(index.search("myri", 10)).containsExactly("Thamyris");
+        assertThat(index.search("outlook", 10)).containsExactly("Anna");
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer one and two character queries from the start of texts and words")
+    public void testShortQueries(){
+        index.put(1L, "Thamyris", "Thamyris Neri", "thammy@gmail.com");
+        index.put(2L, "Anna", "Anna Neri", "anna@gmail.com");
+
+        assertThat(index.search("a", 10)).containsExactly("Anna");
+        assertThat(index.search("ne", 10)).containsExactly("Thamyris", "Anna");
+    }
+
+    @Test
+    @DisplayName("Should list name prefixes before word prefixes before other substrings")
+    public void testRanking(){
+        index.put(1L, "contains", "Joanna Silva", "js@mail.com");
+        index.put(2L, "word", "Maria Anna", "ma@mail.com");
+        index.put(3L, "name", "Anna Souza", "as@mail.com");
+
+        assertThat(index.search("anna", 10)).containsExactly("name", "word", "contains");
+        assertThat(index.search("anna", 2)).containsExactly("name", "word");
+    }
+
+    @Test
+    @DisplayName("Should follow updates and removals, also after compaction")
+    public void testUpdateRemoveAndCompaction(){
+        index.put(1L, "old", "Anna Neri", "anna@mail.com");
+        index.put(1L, "new", "Anna Souza", "anna@mail.com");
+
+        assertThat(index.search("neri", 10)).isEmpty();
+        assertThat(index.search("souza", 10)).containsExactly("new");
+
+        for (long id = 2; id < 3000; id++) {
+            index.put(id, "temp", "Temporary " + id, "temp@mail.com");
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("souza", 10)).containsExactly("new");
+        assertThat(index.search("temporary", 10)).isEmpty();
+    }
+}
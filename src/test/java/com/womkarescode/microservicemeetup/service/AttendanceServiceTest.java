@@ -0,0 +1,83 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.dto.AttendanceDTO;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.service.impl.AttendanceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class AttendanceServiceTest {
+
+    AttendanceService service;
+
+    @MockBean
+    MeetupRepository meetupRepository;
+
+    @BeforeEach
+    public void setUp(){
+        this.service = new AttendanceServiceImpl(meetupRepository);
+    }
+
+    @Test
+    @DisplayName("Should count sign-ups and cancels per event and status")
+    public void testRecord(){
+        service.record(1L, MeetupStatus.CONFIRMED, 1);
+        service.record(1L, MeetupStatus.CONFIRMED, 1);
+        service.record(1L, MeetupStatus.WAITLISTED, 1);
+        service.record(1L, MeetupStatus.CONFIRMED, -1);
+        service.record(2L, MeetupStatus.CONFIRMED, 1);
+
+        assertThat(service.getAttendees(1L)).isEqualTo(1);
+        assertThat(service.getWaitlisted(1L)).isEqualTo(1);
+        assertThat(service.getAttendees(2L)).isEqualTo(1);
+        assertThat(service.getAttendees(3L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replace drifted counters with the database counts on reconcile")
+    public void testReconcile(){
+        service.record(1L, MeetupStatus.CONFIRMED, 5);
+        service.record(2L, MeetupStatus.CONFIRMED, 1);
+        when(meetupRepository.countAttendanceByEvent())
+                .thenReturn(Arrays.asList(new AttendanceDTO(1L, 3L, 2L), new AttendanceDTO(4L, 7L, 0L)));
+
+        service.reconcile();
+
+        List<AttendanceDTO> attendance = service.getAttendance(Arrays.asList(1L, 2L, 4L));
+        assertThat(attendance).containsExactly(
+                new AttendanceDTO(1L, 3L, 2L),
+                new AttendanceDTO(2L, 0L, 0L),
+                new AttendanceDTO(4L, 7L, 0L));
+    }
+
+    @Test
+    @DisplayName("Should keep the sign-ups recorded while the reconcile is counting")
+    public void testReconcileKeepsConcurrentChanges(){
+        service.record(1L, MeetupStatus.CONFIRMED, 5);
+        when(meetupRepository.countAttendanceByEvent()).thenAnswer(invocation -> {
+            service.record(1L, MeetupStatus.CONFIRMED, 1);
+            service.record(5L, MeetupStatus.WAITLISTED, 1);
+            return Arrays.asList(new AttendanceDTO(1L, 3L, 2L));
+        });
+
+        service.reconcile();
+
+        assertThat(service.getAttendance(Arrays.asList(1L, 5L))).containsExactly(
+                new AttendanceDTO(1L, 4L, 2L),
+                new AttendanceDTO(5L, 0L, 1L));
+    }
+}
@@ -3,20 +3,25 @@ package com.womkarescode.microservicemeetup.service;
 import com.womkarescode.microservicemeetup.exception.BusinessException;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.repository.CreateMeetupRepository;
+import com.womkarescode.microservicemeetup.search.EventSearchIndex;
 import com.womkarescode.microservicemeetup.service.impl.CreateMeetupServiceImpl;
 import org.assertj.core.api.Assertions;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -37,9 +42,15 @@ public class CreateMeetupServiceTest {
     @MockBean
     CreateMeetupRepository repository;
 
+    @MockBean
+    SeatReservationService seatReservationService;
+
+    EventSearchIndex eventSearchIndex;
+
     @BeforeEach
     public void setup(){
-        this.service = new CreateMeetupServiceImpl(repository);
+        this.eventSearchIndex = new EventSearchIndex();
+        this.service = new CreateMeetupServiceImpl(repository, seatReservationService, eventSearchIndex);
     }
 
     @Test
@@ -48,7 +59,7 @@ public class CreateMeetupServiceTest {
 
         CreateMeetup eventMeetup = createEventMeetupValid();
 
-        when(repository.save(eventMeetup)).thenReturn(createEventMeetupValid());
+        when(repository.saveAndFlush(eventMeetup)).thenReturn(createEventMeetupValid());
 
         CreateMeetup savedEvent = service.saveNewEventMeetup(eventMeetup);
 
@@ -64,14 +75,30 @@ public class CreateMeetupServiceTest {
     public void testNotSaveDuplicatedEventMeetup(){
 
         CreateMeetup eventMeetup = createEventMeetupValid();
-        when(repository.findByEvent(eventMeetup.getEvent())).thenReturn(Optional.of(eventMeetup));
+        when(repository.saveAndFlush(eventMeetup))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement", null,
+                                "PUBLIC.UK_CREATE_MEETUP_EVENT_INDEX_B ON PUBLIC.CREATE_MEETUP(EVENT)")));
 
         Throwable exception = Assertions.catchThrowable(() -> service.saveNewEventMeetup(eventMeetup));
         assertThat(exception)
                 .isInstanceOf(BusinessException.class)
                 .hasMessage("Event already created");
 
-        Mockito.verify(repository, Mockito.never()).save(eventMeetup);
+        Mockito.verify(repository, Mockito.never()).findByEvent(eventMeetup.getEvent());
+    }
+
+    @Test
+    @DisplayName("Should rethrow integrity violations other than a duplicated event")
+    public void testRethrowOtherIntegrityViolations(){
+
+        CreateMeetup eventMeetup = createEventMeetupValid();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("NULL not allowed for column EVENT", null, null));
+        when(repository.saveAndFlush(eventMeetup)).thenThrow(violation);
+
+        Throwable exception = Assertions.catchThrowable(() -> service.saveNewEventMeetup(eventMeetup));
+        assertThat(exception).isSameAs(violation);
     }
 
     @Test
@@ -149,6 +176,31 @@ public class CreateMeetupServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Should reseed the event seats only once the update commits")
+    public void testUpdateEventMeetupResetsSeatsAfterCommit(){
+        CreateMeetup updatingEventMeetup = createEventMeetupValid();
+        when(repository.save(updatingEventMeetup)).thenReturn(updatingEventMeetup);
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> service.updateEventMeetup(updatingEventMeetup));
+        Mockito.verify(seatReservationService, Mockito.never()).reset(Mockito.any());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        Mockito.verify(seatReservationService).reset(updatingEventMeetup);
+    }
+
+    @Test
+    @DisplayName("Should keep the event seats when the delete rolls back")
+    public void testDeleteEventMeetupForgetsSeatsAfterCommit(){
+        CreateMeetup eventMeetup = createEventMeetupValid();
+        when(repository.findByEvent(eventMeetup.getEvent())).thenReturn(Optional.of(eventMeetup));
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> service.deleteEventMeetup(eventMeetup));
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        Mockito.verify(seatReservationService, Mockito.never()).forget(Mockito.any());
+    }
+
     @Test
     @DisplayName("Should throw Exception when trying to update a non-existent event")
     public void testUpdateEventMeetupNotFound(){
@@ -183,6 +235,71 @@ public class CreateMeetupServiceTest {
         assertThat(result.getPageable().getPageSize()).isEqualTo(10);
     }
 
+    @Test
+    @DisplayName("Should find saved events by word prefix, ranking exact words above prefixes")
+    public void testSearchEventMeetup(){
+        CreateMeetup bySpeaker = CreateMeetup.builder().id(1L).event("Palestra Java").guestSpeaker("Micro Serviço").build();
+        CreateMeetup byName = CreateMeetup.builder().id(2L).event("Palestra Microservice").guestSpeaker("Anna Nery").build();
+        when( repository.saveAndFlush(bySpeaker) ).thenReturn(bySpeaker);
+        when( repository.saveAndFlush(byName) ).thenReturn(byName);
+        when( repository.findAllById(Mockito.anyIterable()) ).thenReturn(Arrays.asList(bySpeaker, byName));
+        service.saveNewEventMeetup(bySpeaker);
+        service.saveNewEventMeetup(byName);
+
+        Page<CreateMeetup> result = service.searchEventMeetup("palestra MICRO", PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(CreateMeetup::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should stop finding an event once it is deleted")
+    public void testSearchDeletedEventMeetup(){
+        CreateMeetup eventMeetup = createEventMeetupValid();
+        when( repository.saveAndFlush(eventMeetup) ).thenReturn(eventMeetup);
+        when( repository.findByEvent(eventMeetup.getEvent()) ).thenReturn(Optional.of(eventMeetup));
+        service.saveNewEventMeetup(eventMeetup);
+
+        service.deleteEventMeetup(eventMeetup);
+
+        assertThat(service.searchEventMeetup("microservice", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should start the first calendar page at the beginning of the range")
+    public void testFindEventMeetupBetweenFirstPage(){
+        LocalDate from = LocalDate.of(2022, 5, 1);
+        LocalDate to = LocalDate.of(2022, 5, 31);
+        List<CreateMeetup> events = Arrays.asList(createEventMeetupValid());
+        when(repository.findByEventDateBetweenAfter(from, to, from, 0L, PageRequest.of(0, 21))).thenReturn(events);
+
+        List<CreateMeetup> result = service.findEventMeetupBetween(from, to, null, 21);
+
+        assertThat(result).isEqualTo(events);
+    }
+
+    @Test
+    @DisplayName("Should reject a date range that ends before it starts")
+    public void testFindEventMeetupBetweenInvalidRange(){
+        LocalDate from = LocalDate.of(2022, 5, 31);
+        LocalDate to = LocalDate.of(2022, 5, 1);
+
+        Throwable exception = Assertions.catchThrowable(() -> service.findEventMeetupBetween(from, to, null, 21));
+
+        assertThat(exception).isInstanceOf(BusinessException.class).hasMessage("Invalid date range");
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable work){
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     private CreateMeetup createEventMeetupValid(){
         return CreateMeetup.builder()
                 .id(11L)
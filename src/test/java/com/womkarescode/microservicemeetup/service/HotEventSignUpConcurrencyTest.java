@@ -0,0 +1,123 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.repository.CreateMeetupRepository;
+import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import com.womkarescode.microservicemeetup.service.impl.AttendanceServiceImpl;
+import com.womkarescode.microservicemeetup.service.impl.MeetupServiceImpl;
+import com.womkarescode.microservicemeetup.service.impl.SeatReservationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({MeetupServiceImpl.class, SeatReservationServiceImpl.class, AttendanceServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class HotEventSignUpConcurrencyTest {
+
+    static final int THREADS = 8;
+
+    static final int SIGN_UPS_PER_THREAD = 25;
+
+    static final int CAPACITY = 50;
+
+    @Autowired
+    MeetupService meetupService;
+
+    @Autowired
+    MeetupRepository meetupRepository;
+
+    @Autowired
+    AttendanceService attendanceService;
+
+    @Autowired
+    RegistrationRepository registrationRepository;
+
+    @Autowired
+    CreateMeetupRepository createMeetupRepository;
+
+    @AfterEach
+    public void cleanUp(){
+        meetupRepository.deleteAll();
+        registrationRepository.deleteAll();
+        createMeetupRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should confirm exactly the event capacity and waitlist the rest of a sign-up burst")
+    public void testHotEventSignUps() throws Exception {
+        CreateMeetup event = createMeetupRepository.save(CreateMeetup.builder()
+                .event("Palestra Microservice")
+                .guestSpeaker("Anna Neri")
+                .eventDate(LocalDate.now())
+                .capacity(CAPACITY)
+                .build());
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < THREADS * SIGN_UPS_PER_THREAD; i++) {
+            registrations.add(Registration.builder()
+                    .name("Thamyris")
+                    .email("thammy@gmail.com")
+                    .password("1234")
+                    .registration(String.format("%03d", i))
+                    .build());
+        }
+        List<Registration> saved = registrationRepository.saveAll(registrations);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<Registration> batch = saved.subList(thread * SIGN_UPS_PER_THREAD, (thread + 1) * SIGN_UPS_PER_THREAD);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (Registration registration : batch) {
+                    meetupService.save(Meetup.builder()
+                            .registration(registration)
+                            .eventDetails(event)
+                            .meetupDateRegistration(LocalDate.now())
+                            .build());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int signUps = THREADS * SIGN_UPS_PER_THREAD;
+        assertThat(meetupRepository.countByEventIdAndStatus(event.getId(), MeetupStatus.CONFIRMED)).isEqualTo(CAPACITY);
+        assertThat(meetupRepository.countByEventIdAndStatus(event.getId(), MeetupStatus.WAITLISTED))
+                .isEqualTo(signUps - CAPACITY);
+        assertThat(attendanceService.getAttendees(event.getId())).isEqualTo(CAPACITY);
+        assertThat(attendanceService.getWaitlisted(event.getId())).isEqualTo(signUps - CAPACITY);
+    }
+}
@@ -0,0 +1,119 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.entity.IdempotentRequest;
+import com.womkarescode.microservicemeetup.repository.IdempotentRequestRepository;
+import com.womkarescode.microservicemeetup.service.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(IdempotencyServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IdempotencyServiceTest {
+
+    static final int THREADS = 8;
+
+    @Autowired
+    IdempotencyService service;
+
+    @Autowired
+    IdempotentRequestRepository repository;
+
+    @AfterEach
+    public void cleanUp(){
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should report a claimed key as running until its response is stored, then replay it")
+    public void testClaimAndReplay(){
+        assertThat(service.claim("key-1", "fingerprint")).isEmpty();
+        assertThat(service.claim("key-1", "fingerprint")).hasValueSatisfying(
+                request -> assertThat(request.getResponseBody()).isNull());
+
+        service.storeResponse("key-1", "{\"id\":11}");
+
+        assertThat(service.claim("key-1", "fingerprint"))
+                .map(IdempotentRequest::getResponseBody)
+                .hasValue("{\"id\":11}");
+    }
+
+    @Test
+    @DisplayName("Should let a released key be claimed again")
+    public void testRelease(){
+        service.claim("key-1", "fingerprint");
+        service.release("key-1");
+
+        assertThat(service.claim("key-1", "fingerprint")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse a key already used for a different request")
+    public void testDifferentFingerprint(){
+        service.claim("key-1", "fingerprint");
+
+        assertThat(catchThrowable(() -> service.claim("key-1", "other")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Idempotency-Key already used for a different request");
+    }
+
+    @Test
+    @DisplayName("Should refuse a key longer than the stored column")
+    public void testKeyTooLong(){
+        String key = "k".repeat(IdempotentRequest.KEY_LENGTH + 1);
+
+        assertThat(catchThrowable(() -> service.claim(key, "fingerprint")))
+                .isInstanceOf(BusinessException.class);
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should grant a key to only one of several concurrent requests")
+    public void testConcurrentClaims() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<IdempotentRequest>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return service.claim("key-1", "fingerprint");
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Optional<IdempotentRequest>> future : futures) {
+            if (future.get().isEmpty()) {
+                granted++;
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(granted).isEqualTo(1);
+    }
+}
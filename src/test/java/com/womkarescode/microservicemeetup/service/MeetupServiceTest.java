@@ -1,24 +1,40 @@
 package com.womkarescode.microservicemeetup.service;
 
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
 import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
 import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import com.womkarescode.microservicemeetup.repository.MeetupRepository;
 import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import com.womkarescode.microservicemeetup.service.impl.AttendanceServiceImpl;
 import com.womkarescode.microservicemeetup.service.impl.MeetupServiceImpl;
+import com.womkarescode.microservicemeetup.service.impl.SeatReservationServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,17 +50,23 @@ public class MeetupServiceTest {
     @MockBean
     MeetupRepository meetupRepository;
 
+    AttendanceService attendanceService;
+
     @BeforeEach
     public void setUp(){
-        this.meetupService = new MeetupServiceImpl(meetupRepository);
+        this.attendanceService = new AttendanceServiceImpl(meetupRepository);
+        this.meetupService = new MeetupServiceImpl(meetupRepository, new SeatReservationServiceImpl(meetupRepository),
+                attendanceService);
     }
 
     @Test
     @DisplayName("Should create a meetup")
     public void testSaveMeetup(){
         Meetup meetupSaved = createValidMeetup();
+        Meetup confirmedMeetup = createValidMeetup();
+        confirmedMeetup.setStatus(MeetupStatus.CONFIRMED);
 
-        when( meetupRepository.save(createValidMeetup()) ).thenReturn( meetupSaved );
+        when( meetupRepository.saveAndFlush(confirmedMeetup) ).thenReturn( meetupSaved );
 
         Meetup meetup = meetupService.save(meetupSaved);
 
@@ -55,6 +77,130 @@ public class MeetupServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Should not enroll the same registration twice in an event")
+    public void testSaveDuplicatedMeetup(){
+        Meetup meetup = createValidMeetup();
+
+        when( meetupRepository.saveAndFlush(meetup) )
+                .thenThrow( new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement", null,
+                                "PUBLIC.UK_MEETUP_REGISTRATION_EVENT_INDEX_8 ON PUBLIC.MEETUP(ID_REGISTRATION, AUTHOR_MEETUP)")) );
+
+        assertThat( catchThrowable(() -> meetupService.save(meetup)) )
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Meetup already enrolled");
+    }
+
+    @Test
+    @DisplayName("Should waitlist a sign-up when the event is full")
+    public void testSaveMeetupOnFullEvent(){
+        Meetup meetup = createValidMeetup();
+        meetup.getEventDetails().setCapacity(1);
+
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenReturn(1L);
+        when( meetupRepository.saveAndFlush(meetup) ).thenReturn(meetup);
+
+        Meetup saved = meetupService.save(meetup);
+
+        assertThat(saved.getStatus()).isEqualTo(MeetupStatus.WAITLISTED);
+    }
+
+    @Test
+    @DisplayName("Should give the seat back when the sign-up cannot be saved")
+    public void testSaveDuplicatedMeetupReleasesSeat(){
+        Meetup meetup = createValidMeetup();
+        meetup.getEventDetails().setCapacity(1);
+
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenReturn(0L);
+        when( meetupRepository.saveAndFlush(Mockito.any(Meetup.class)) )
+                .thenThrow( new DataIntegrityViolationException("uk_meetup_registration_event") )
+                .thenAnswer( invocation -> invocation.getArgument(0) );
+
+        catchThrowable(() -> meetupService.save(meetup));
+        Meetup retried = meetupService.save(createValidMeetupOn(meetup.getEventDetails()));
+
+        assertThat(retried.getStatus()).isEqualTo(MeetupStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should only give the seat back once the sign-up transaction rolls back")
+    public void testSeatReleasedOnRollback(){
+        Meetup meetup = createValidMeetup();
+        CreateMeetup event = meetup.getEventDetails();
+        event.setCapacity(1);
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenReturn(0L);
+        when( meetupRepository.saveAndFlush(Mockito.any(Meetup.class)) ).thenAnswer( invocation -> invocation.getArgument(0) );
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> meetupService.save(meetup));
+        Meetup concurrent = meetupService.save(createValidMeetupOn(event));
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        Meetup retried = meetupService.save(createValidMeetupOn(event));
+
+        assertThat(meetup.getStatus()).isEqualTo(MeetupStatus.CONFIRMED);
+        assertThat(concurrent.getStatus()).isEqualTo(MeetupStatus.WAITLISTED);
+        assertThat(retried.getStatus()).isEqualTo(MeetupStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should not free the seat of a cancelled sign-up before the cancel commits")
+    public void testCancelFreesSeatAfterCommit(){
+        Meetup confirmed = createValidMeetup();
+        CreateMeetup event = confirmed.getEventDetails();
+        event.setCapacity(1);
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenReturn(0L);
+        when( meetupRepository.saveAndFlush(Mockito.any(Meetup.class)) ).thenAnswer( invocation -> invocation.getArgument(0) );
+        meetupService.save(confirmed);
+
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> meetupService.cancel(confirmed));
+        Meetup beforeCommit = meetupService.save(createValidMeetupOn(event));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        Meetup afterCommit = meetupService.save(createValidMeetupOn(event));
+
+        assertThat(beforeCommit.getStatus()).isEqualTo(MeetupStatus.WAITLISTED);
+        assertThat(afterCommit.getStatus()).isEqualTo(MeetupStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should promote the oldest waitlisted sign-up when a confirmed one is cancelled")
+    public void testCancelPromotesWaitlisted(){
+        Meetup confirmed = createValidMeetup();
+        confirmed.setId(1L);
+        confirmed.setStatus(MeetupStatus.CONFIRMED);
+        CreateMeetup event = confirmed.getEventDetails();
+        event.setCapacity(1);
+        Meetup waitlisted = createValidMeetupOn(event);
+        waitlisted.setId(2L);
+        waitlisted.setStatus(MeetupStatus.WAITLISTED);
+
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenReturn(1L);
+        when( meetupRepository.saveAndFlush(Mockito.any(Meetup.class)) ).thenAnswer( invocation -> invocation.getArgument(0) );
+        meetupService.save(createValidMeetupOn(event));
+        when( meetupRepository.findFirstByEventDetailsAndStatusOrderByIdAsc(event, MeetupStatus.WAITLISTED) )
+                .thenReturn(Optional.of(waitlisted));
+
+        meetupService.cancel(confirmed);
+
+        verify( meetupRepository ).delete(confirmed);
+        assertThat(waitlisted.getStatus()).isEqualTo(MeetupStatus.CONFIRMED);
+        verify( meetupRepository ).saveAndFlush(waitlisted);
+    }
+
+    @Test
+    @DisplayName("Should keep the attendance counters in step with sign-ups and cancels")
+    public void testSaveAndCancelUpdateAttendance(){
+        Meetup first = createValidMeetup();
+        Meetup second = createValidMeetupOn(first.getEventDetails());
+        when( meetupRepository.saveAndFlush(Mockito.any(Meetup.class)) ).thenAnswer( invocation -> invocation.getArgument(0) );
+
+        meetupService.save(first);
+        meetupService.save(second);
+        meetupService.cancel(first);
+
+        assertThat(attendanceService.getAttendees(11L)).isEqualTo(1);
+        assertThat(attendanceService.getWaitlisted(11L)).isZero();
+    }
+
     @Test
     @DisplayName("Should update schedule a meetup held by the user.")
     public void testUpdateMeetup(){
@@ -118,6 +264,101 @@ public class MeetupServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Should merge the registration and event matches into one page ordered by id")
+    public void testFindAllMergesRegistrationAndEventMatches(){
+        MeetupFilterDTO filter = MeetupFilterDTO.builder()
+                .registration("Thamyris")
+                .event("Palestra Microservice")
+                .build();
+        PageRequest pageRequest = PageRequest.of(0, 3);
+
+        when( meetupRepository.findIdsByRegistration(Mockito.eq("Thamyris"), Mockito.eq(0L), Mockito.any()) )
+                .thenReturn(Arrays.asList(1L, 3L, 5L));
+        when( meetupRepository.findIdsByEvent(Mockito.eq("Palestra Microservice"), Mockito.eq(0L), Mockito.any()) )
+                .thenReturn(Arrays.asList(2L, 3L, 6L));
+        when( meetupRepository.findAllByIdInOrderById(Arrays.asList(1L, 2L, 3L)) )
+                .thenReturn(Arrays.asList(
+                        Meetup.builder().id(1L).build(),
+                        Meetup.builder().id(2L).build(),
+                        Meetup.builder().id(3L).build()));
+        when( meetupRepository.countByRegistration("Thamyris") ).thenReturn(3L);
+        when( meetupRepository.countByEvent("Palestra Microservice") ).thenReturn(3L);
+        when( meetupRepository.countByRegistrationAndEvent("Thamyris", "Palestra Microservice") ).thenReturn(1L);
+
+        Page<Meetup> result = meetupService.findAll(filter, pageRequest);
+
+        assertThat(result.getContent()).extracting(Meetup::getId).containsExactly(1L, 2L, 3L);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should keep the client sort by using the registration or event query")
+    public void testFindAllSortedKeepsClientSort(){
+        MeetupFilterDTO filter = MeetupFilterDTO.builder()
+                .registration("Thamyris")
+                .event("Palestra Microservice")
+                .build();
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("meetupDateRegistration").descending());
+        Page<Meetup> page = new PageImpl<>(Arrays.asList(Meetup.builder().id(2L).build()), pageRequest, 1);
+
+        when( meetupRepository.findByRegistrationOnMeetup("Thamyris", "Palestra Microservice", pageRequest) )
+                .thenReturn(page);
+
+        Page<Meetup> result = meetupService.findAll(filter, pageRequest);
+
+        assertThat(result).isSameAs(page);
+        Mockito.verify(meetupRepository, Mockito.never()).findIdsByRegistration(Mockito.anyString(), Mockito.anyLong(), Mockito.any());
+        Mockito.verify(meetupRepository, Mockito.never()).findIdsByEvent(Mockito.anyString(), Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor id with the merged registration and event matches")
+    public void testFindAllAfterCursor(){
+        MeetupFilterDTO filter = MeetupFilterDTO.builder()
+                .registration("Thamyris")
+                .event("Palestra Microservice")
+                .build();
+
+        when( meetupRepository.findIdsByRegistration(Mockito.eq("Thamyris"), Mockito.eq(3L), Mockito.any()) )
+                .thenReturn(Arrays.asList(5L, 7L));
+        when( meetupRepository.findIdsByEvent(Mockito.eq("Palestra Microservice"), Mockito.eq(3L), Mockito.any()) )
+                .thenReturn(Arrays.asList(4L, 5L));
+        when( meetupRepository.findAllByIdInOrderById(Arrays.asList(4L, 5L)) )
+                .thenReturn(Arrays.asList(Meetup.builder().id(4L).build(), Meetup.builder().id(5L).build()));
+
+        List<Meetup> result = meetupService.findAllAfter(filter, 3L, 2);
+
+        assertThat(result).extracting(Meetup::getId).containsExactly(4L, 5L);
+        Mockito.verify(meetupRepository, Mockito.never()).countByRegistration(Mockito.anyString());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page when no filter is informed")
+    public void testFindAllWithoutFilter(){
+        Page<Meetup> result = meetupService.findAll(new MeetupFilterDTO(), PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isZero();
+        Mockito.verifyNoInteractions(meetupRepository);
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable work){
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Meetup createValidMeetupOn(CreateMeetup event){
+        Meetup meetup = createValidMeetup();
+        meetup.setEventDetails(event);
+        return meetup;
+    }
+
     private Meetup createValidMeetup(){
         Meetup meetup = Meetup.builder().id(11l).build();
         Registration registration = Registration.builder()
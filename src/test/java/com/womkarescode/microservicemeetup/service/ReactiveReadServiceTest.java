@@ -0,0 +1,81 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.dto.MeetupFilterDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.service.impl.ReactiveReadServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ReactiveReadServiceTest {
+
+    ReactiveReadService service;
+
+    @MockBean
+    CreateMeetupService createMeetupService;
+
+    @MockBean
+    RegistrationService registrationService;
+
+    @MockBean
+    MeetupService meetupService;
+
+    @BeforeEach
+    public void setUp(){
+        this.service = new ReactiveReadServiceImpl(createMeetupService, registrationService, meetupService, Schedulers.immediate());
+    }
+
+    @Test
+    @DisplayName("Should emit the event found by id")
+    public void testGetEventById(){
+        CreateMeetup event = CreateMeetup.builder().id(11L).event("Palestra Microservice").build();
+        when( createMeetupService.getEventById(11L) ).thenReturn(Optional.of(event));
+
+        StepVerifier.create(service.getEventById(11L))
+                .expectNext(event)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should complete empty when the registration does not exist")
+    public void testGetNonexistentRegistration(){
+        when( registrationService.getRegistrationById(11L) ).thenReturn(Optional.empty());
+
+        StepVerifier.create(service.getRegistrationById(11L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream the meetups page by page until a short page is read")
+    public void testFindAllStreamsKeysetPages(){
+        MeetupFilterDTO filter = MeetupFilterDTO.builder().event("Palestra Microservice").build();
+        when( meetupService.findAllAfter(filter, 0L, 2) )
+                .thenReturn(Arrays.asList(Meetup.builder().id(1L).build(), Meetup.builder().id(2L).build()));
+        when( meetupService.findAllAfter(filter, 2L, 2) )
+                .thenReturn(Collections.singletonList(Meetup.builder().id(3L).build()));
+
+        StepVerifier.create(service.findAll(filter, 0L, 2), 2)
+                .expectNextMatches(meetup -> meetup.getId() == 1L)
+                .expectNextMatches(meetup -> meetup.getId() == 2L)
+                .thenRequest(10)
+                .expectNextMatches(meetup -> meetup.getId() == 3L)
+                .verifyComplete();
+        Mockito.verify(meetupService, Mockito.never()).findAllAfter(filter, 3L, 2);
+    }
+}
@@ -3,14 +3,17 @@ package com.womkarescode.microservicemeetup.service;
 import com.womkarescode.microservicemeetup.exception.BusinessException;
 import com.womkarescode.microservicemeetup.model.entity.Registration;
 import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import com.womkarescode.microservicemeetup.search.RegistrationSearchIndex;
 import com.womkarescode.microservicemeetup.service.impl.RegistrationServiceImpl;
 import org.assertj.core.api.Assertions;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -22,7 +25,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,7 +43,7 @@ public class RegistrationServiceTest {
 
     @BeforeEach
     public void setUp(){
-        this.service = new RegistrationServiceImpl(repository);
+        this.service = new RegistrationServiceImpl(repository, new RegistrationSearchIndex());
     }
 
 
@@ -48,8 +53,7 @@ public class RegistrationServiceTest {
 
         Registration registration = createValidRegistration();
 
-        Mockito.when(repository.existsByRegistration((Mockito.anyString()))).thenReturn(false);
-        Mockito.when(repository.save(registration)).thenReturn(createValidRegistration());
+        Mockito.when(repository.saveAndFlush(registration)).thenReturn(createValidRegistration());
 
         Registration savedRegistration = service.save(registration);
 
@@ -64,17 +68,32 @@ public class RegistrationServiceTest {
     @DisplayName("Should throw Business Exception error when try to safe a new registration with a duplicated registration")
     public void testShouldNotSaveARegistrationDuplicated(){
         Registration registration = createValidRegistration();
-        Mockito.when(repository.existsByRegistration(Mockito.any())).thenReturn(true);
+        Mockito.when(repository.saveAndFlush(registration))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement", null,
+                                "PUBLIC.UK_REGISTRATION_REGISTRATION_INDEX_A ON PUBLIC.REGISTRATION(REGISTRATION)")));
 
         Throwable exception = Assertions.catchThrowable(() -> service.save(registration));
         assertThat(exception)
                 .isInstanceOf(BusinessException.class)
                 .hasMessage("Registration already created");
 
-        Mockito.verify(repository,Mockito.never()).save(registration);
+        Mockito.verify(repository,Mockito.never()).existsByRegistration(Mockito.any());
 
     }
 
+    @Test
+    @DisplayName("Should rethrow integrity violations other than a duplicated registration")
+    public void testShouldRethrowOtherIntegrityViolations(){
+        Registration registration = createValidRegistration();
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Value too long for column PERSON_NAME", null, null));
+        Mockito.when(repository.saveAndFlush(registration)).thenThrow(violation);
+
+        Throwable exception = Assertions.catchThrowable(() -> service.save(registration));
+        assertThat(exception).isSameAs(violation);
+    }
+
     @Test
     @DisplayName("Should get an registration by id")
     public void testGetByRegistrationId(){
@@ -153,6 +172,35 @@ public class RegistrationServiceTest {
         assertThat(result.getPageable().getPageSize()).isEqualTo(10);
     }
 
+    @Test
+    @DisplayName("Should search registrations by name and email words in rank order")
+    public void testSearchRegistration(){
+        Registration byEmail = Registration.builder().id(1L).name("Anna Nery").email("thamyris@gmail.com").registration("001").build();
+        Registration byName = Registration.builder().id(2L).name("Thamyris").email("thammy@gmail.com").registration("002").build();
+        Mockito.when(repository.saveAndFlush(byEmail)).thenReturn(byEmail);
+        Mockito.when(repository.saveAndFlush(byName)).thenReturn(byName);
+        Mockito.when(repository.findAllById(Mockito.anyIterable())).thenReturn(Arrays.asList(byEmail, byName));
+        service.save(byEmail);
+        service.save(byName);
+
+        Page<Registration> result = service.search("THAMYRIS", PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(Registration::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should stop finding a registration once it is deleted")
+    public void testSearchDeletedRegistration(){
+        Registration registration = createValidRegistration();
+        Mockito.when(repository.saveAndFlush(registration)).thenReturn(registration);
+        service.save(registration);
+
+        service.delete(registration);
+
+        assertThat(service.search("thamyris", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
     @Test
     @DisplayName("Should get an Registration model by registration attribute")
     public void getRegistrationByRegistration(){
@@ -170,6 +218,24 @@ public class RegistrationServiceTest {
         Mockito.verify(repository,Mockito.times(1)).findByRegistration(registrationAttribute);
     }
 
+    @Test
+    @DisplayName("Should save only registrations that are neither repeated in the batch nor already stored")
+    public void testSaveAllSkipsDuplicates(){
+        Registration stored = Registration.builder().name("Anna").registration("001").build();
+        Registration fresh = Registration.builder().name("Thamyris").registration("002").build();
+        Registration repeated = Registration.builder().name("Thamyris again").registration("002").build();
+
+        Mockito.when(repository.findExistingRegistrations(Mockito.anyCollection()))
+                .thenReturn(Arrays.asList("001"));
+        Mockito.when(repository.saveAllAndFlush(Mockito.anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Registration>>getArgument(0)));
+
+        List<Registration> saved = service.saveAll(Arrays.asList(stored, fresh, repeated));
+
+        assertThat(saved).containsExactly(fresh);
+        Mockito.verify(repository, Mockito.times(1)).findExistingRegistrations(Mockito.anyCollection());
+    }
+
     private Registration createValidRegistration() {
         return Registration.builder()
                 .id(101L)
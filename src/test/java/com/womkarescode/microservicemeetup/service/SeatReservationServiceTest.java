@@ -0,0 +1,163 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import com.womkarescode.microservicemeetup.repository.MeetupRepository;
+import com.womkarescode.microservicemeetup.service.impl.SeatReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SeatReservationServiceTest {
+
+    static final int THREADS = 16;
+
+    static final int CAPACITY = 200_000;
+
+    SeatReservationService service;
+
+    @MockBean
+    MeetupRepository meetupRepository;
+
+    @BeforeEach
+    public void setUp(){
+        this.service = new SeatReservationServiceImpl(meetupRepository);
+    }
+
+    @Test
+    @DisplayName("Should always reserve a seat for events without capacity")
+    public void testUnlimitedEvent(){
+        CreateMeetup event = createEvent(null);
+
+        assertThat(service.tryReserve(event)).contains(SeatReservation.UNLIMITED);
+    }
+
+    @Test
+    @DisplayName("Should only hand out the seats left after the confirmed sign-ups")
+    public void testSeatsSeededFromConfirmedSignUps(){
+        CreateMeetup event = createEvent(3);
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenReturn(2L);
+
+        Optional<SeatReservation> first = service.tryReserve(event);
+        Optional<SeatReservation> second = service.tryReserve(event);
+
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reuse released and freed seats")
+    public void testReleaseAndFree(){
+        CreateMeetup event = createEvent(1);
+
+        service.tryReserve(event).orElseThrow().release();
+        service.tryReserve(event).orElseThrow().confirm();
+        assertThat(service.tryReserve(event)).isEmpty();
+
+        service.free(event);
+        assertThat(service.tryReserve(event)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should reseed the seats when the event capacity changes")
+    public void testResetOnCapacityChange(){
+        CreateMeetup event = createEvent(1);
+        service.tryReserve(event).orElseThrow().confirm();
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenReturn(1L);
+
+        event.setCapacity(3);
+        service.reset(event);
+
+        assertThat(service.tryReserve(event)).isPresent();
+        assertThat(service.tryReserve(event)).isPresent();
+        assertThat(service.tryReserve(event)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count the confirmed sign-ups once when an event is first reserved by many threads")
+    public void testInventoryLoadedOnce() throws Exception {
+        CreateMeetup event = createEvent(CAPACITY);
+        CountDownLatch start = new CountDownLatch(1);
+        when( meetupRepository.countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED) ).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return 0L;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Optional<SeatReservation>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return service.tryReserve(event);
+            }));
+        }
+
+        start.countDown();
+        for (Future<Optional<SeatReservation>> future : futures) {
+            assertThat(future.get()).isPresent();
+        }
+        executor.shutdown();
+
+        verify(meetupRepository, times(1)).countByEventIdAndStatus(11L, MeetupStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should never oversell a hot event reserved by many threads at once")
+    public void testHotEventUnderContention() throws Exception {
+        CreateMeetup event = createEvent(CAPACITY);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int reserved = 0;
+                Optional<SeatReservation> seat;
+                while ((seat = service.tryReserve(event)).isPresent()) {
+                    seat.get().confirm();
+                    reserved++;
+                }
+                return reserved;
+            }));
+        }
+
+        start.countDown();
+        int reserved = 0;
+        for (Future<Integer> future : futures) {
+            reserved += future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(reserved).isEqualTo(CAPACITY);
+    }
+
+    private CreateMeetup createEvent(Integer capacity){
+        return CreateMeetup.builder()
+                .id(11L)
+                .event("Palestra Microservice")
+                .eventDate(LocalDate.now())
+                .capacity(capacity)
+                .build();
+    }
+}
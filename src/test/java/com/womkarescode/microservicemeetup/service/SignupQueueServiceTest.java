@@ -0,0 +1,166 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.dto.SignupStatusDTO;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Meetup;
+import com.womkarescode.microservicemeetup.model.entity.MeetupStatus;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.service.impl.SignupQueueServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SignupQueueServiceTest {
+
+    SignupQueueServiceImpl service;
+
+    @MockBean
+    MeetupService meetupService;
+
+    @BeforeEach
+    public void setUp(){
+        this.service = new SignupQueueServiceImpl(meetupService, 2, 10, Duration.ofMillis(200), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Should write the sign-ups that arrive within the linger time as one batch")
+    public void testSignupsWrittenAsBatch() throws Exception{
+        when( meetupService.saveAll(Mockito.anyList()) ).thenAnswer(invocation -> {
+            List<Meetup> meetups = invocation.getArgument(0);
+            long id = 1;
+            for (Meetup meetup : meetups) {
+                meetup.setId(id++);
+                meetup.setStatus(MeetupStatus.CONFIRMED);
+            }
+            return meetups;
+        });
+
+        String first = service.submit(createMeetup("001")).orElseThrow().getId();
+        String second = service.submit(createMeetup("002")).orElseThrow().getId();
+        service.start();
+
+        assertThat(awaitState(first)).isEqualTo(SignupStatusDTO.State.CONFIRMED);
+        assertThat(awaitState(second)).isEqualTo(SignupStatusDTO.State.CONFIRMED);
+        assertThat(service.getStatus(second).orElseThrow().getMeetupId()).isEqualTo(2L);
+        verify( meetupService ).saveAll(Mockito.argThat(meetups -> meetups.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should refuse sign-ups once the queue is full")
+    public void testFullQueue(){
+        service.submit(createMeetup("001"));
+        service.submit(createMeetup("002"));
+
+        assertThat(service.submit(createMeetup("003"))).isEmpty();
+        service.start();
+    }
+
+    @Test
+    @DisplayName("Should reject a sign-up already enrolled before queueing it")
+    public void testRejectAlreadyEnrolled(){
+        Meetup duplicated = createMeetup("001");
+        when( meetupService.isEnrolled(duplicated.getRegistration(), duplicated.getEventDetails()) ).thenReturn(true);
+
+        assertThat( Assertions.catchThrowable(() -> service.submit(duplicated)) )
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Meetup already enrolled");
+        assertThat(service.submit(createMeetup("002"))).isPresent();
+        service.start();
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch one sign-up at a time")
+    public void testBatchFailureFallsBackToSingleWrites() throws Exception{
+        Meetup valid = createMeetup("001");
+        Meetup duplicated = createMeetup("002");
+        when( meetupService.saveAll(Mockito.anyList()) ).thenThrow(new BusinessException("Meetup already enrolled"));
+        when( meetupService.save(valid) ).thenAnswer(invocation -> {
+            valid.setId(1L);
+            valid.setStatus(MeetupStatus.WAITLISTED);
+            return valid;
+        });
+        when( meetupService.save(duplicated) ).thenThrow(new BusinessException("Meetup already enrolled"));
+
+        String validId = service.submit(valid).orElseThrow().getId();
+        String duplicatedId = service.submit(duplicated).orElseThrow().getId();
+        service.start();
+
+        assertThat(awaitState(validId)).isEqualTo(SignupStatusDTO.State.WAITLISTED);
+        assertThat(awaitState(duplicatedId)).isEqualTo(SignupStatusDTO.State.REJECTED);
+        assertThat(service.getStatus(duplicatedId).orElseThrow().getMessage()).isEqualTo("Meetup already enrolled");
+    }
+
+    @Test
+    @DisplayName("Should keep writing sign-ups after the writer thread is interrupted")
+    public void testInterruptedWriterKeepsDraining() throws Exception{
+        when( meetupService.saveAll(Mockito.anyList()) ).thenAnswer(invocation -> {
+            List<Meetup> meetups = invocation.getArgument(0);
+            meetups.forEach(meetup -> meetup.setStatus(MeetupStatus.CONFIRMED));
+            return meetups;
+        });
+        service.start();
+        Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("signup-writer"))
+                .forEach(Thread::interrupt);
+
+        String id = service.submit(createMeetup("001")).orElseThrow().getId();
+
+        assertThat(awaitState(id)).isEqualTo(SignupStatusDTO.State.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should reject the queued sign-ups once the writer exits")
+    public void testStoppedWriterRejectsQueued() throws Exception{
+        when( meetupService.saveAll(Mockito.anyList()) ).thenThrow(new AssertionError("writer died"));
+
+        String first = service.submit(createMeetup("001")).orElseThrow().getId();
+        String second = service.submit(createMeetup("002")).orElseThrow().getId();
+        service.start();
+
+        assertThat(awaitState(first)).isEqualTo(SignupStatusDTO.State.REJECTED);
+        assertThat(awaitState(second)).isEqualTo(SignupStatusDTO.State.REJECTED);
+        service.stop();
+        assertThat(service.submit(createMeetup("003"))).isEmpty();
+    }
+
+    private SignupStatusDTO.State awaitState(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        SignupStatusDTO.State state = service.getStatus(id).orElseThrow().getState();
+        while (state == SignupStatusDTO.State.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            state = service.getStatus(id).orElseThrow().getState();
+        }
+        return state;
+    }
+
+    private Meetup createMeetup(String registration){
+        return Meetup.builder()
+                .registration(Registration.builder().id(Long.valueOf(registration)).registration(registration).build())
+                .eventDetails(CreateMeetup.builder().id(11L).event("Palestra Microservice").build())
+                .build();
+    }
+}
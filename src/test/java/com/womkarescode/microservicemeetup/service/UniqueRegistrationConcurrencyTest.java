@@ -0,0 +1,122 @@
+package com.womkarescode.microservicemeetup.service;
+
+import com.womkarescode.microservicemeetup.exception.BusinessException;
+import com.womkarescode.microservicemeetup.model.entity.CreateMeetup;
+import com.womkarescode.microservicemeetup.model.entity.Registration;
+import com.womkarescode.microservicemeetup.repository.CreateMeetupRepository;
+import com.womkarescode.microservicemeetup.repository.RegistrationRepository;
+import com.womkarescode.microservicemeetup.search.EventSearchIndex;
+import com.womkarescode.microservicemeetup.search.RegistrationSearchIndex;
+import com.womkarescode.microservicemeetup.service.impl.CreateMeetupServiceImpl;
+import com.womkarescode.microservicemeetup.service.impl.RegistrationServiceImpl;
+import com.womkarescode.microservicemeetup.service.impl.SeatReservationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({RegistrationServiceImpl.class, CreateMeetupServiceImpl.class, SeatReservationServiceImpl.class,
+        EventSearchIndex.class, RegistrationSearchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UniqueRegistrationConcurrencyTest {
+
+    static final int THREADS = 8;
+
+    @Autowired
+    RegistrationService registrationService;
+
+    @Autowired
+    CreateMeetupService createMeetupService;
+
+    @Autowired
+    RegistrationRepository registrationRepository;
+
+    @Autowired
+    CreateMeetupRepository createMeetupRepository;
+
+    @AfterEach
+    public void cleanUp(){
+        registrationRepository.deleteAll();
+        createMeetupRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should store only one registration when the same code is saved concurrently")
+    public void testConcurrentDuplicatedRegistration() throws Exception {
+        List<Boolean> saved = runConcurrently(() -> registrationService.save(Registration.builder()
+                .name("Thamyris")
+                .email("thammy@gmail.com")
+                .password("1234")
+                .registration("001")
+                .build()));
+
+        assertThat(saved).containsOnlyOnce(true);
+        assertThat(registrationRepository.findAll())
+                .filteredOn(registration -> "001".equals(registration.getRegistration()))
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should store only one event when the same event name is saved concurrently")
+    public void testConcurrentDuplicatedEvent() throws Exception {
+        List<Boolean> saved = runConcurrently(() -> createMeetupService.saveNewEventMeetup(CreateMeetup.builder()
+                .event("Palestra Microservice")
+                .guestSpeaker("Anna Neri")
+                .eventDate(LocalDate.now())
+                .build()));
+
+        assertThat(saved).containsOnlyOnce(true);
+        assertThat(createMeetupRepository.findAll())
+                .filteredOn(event -> "Palestra Microservice".equals(event.getEvent()))
+                .hasSize(1);
+    }
+
+    private List<Boolean> runConcurrently(Callable<?> save) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    save.call();
+                    return true;
+                } catch (BusinessException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return results;
+    }
+}